@@ -0,0 +1,127 @@
+package com.mntnorv.wrdl.bench;
+
+import com.mntnorv.wrdl.dict.Dictionary;
+import com.mntnorv.wrdl.dict.DictionaryCompiler;
+import com.mntnorv.wrdl.dict.LetterGrid;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Word lists, dictionaries and the seeded board corpus shared by the
+ * benchmarks. Every run sees exactly the same boards, so results can be
+ * compared between builds.
+ */
+final class BenchmarkData {
+	static final long SEED = 0x5752444CL;
+
+	// Scrabble tile distribution, roughly the letter frequency of English words
+	private static final String LETTER_COUNTS =
+			"E12A9I9O8N6R6T6L4S4U4D4G3B2C2M2P2F2H2V2W2Y2K1J1X1Q1Z1";
+	private static final char[] LETTER_POOL;
+
+	static {
+		StringBuilder pool = new StringBuilder();
+		int i = 0;
+
+		while (i < LETTER_COUNTS.length()) {
+			char letter = LETTER_COUNTS.charAt(i++);
+			int count = 0;
+
+			while (i < LETTER_COUNTS.length() && Character.isDigit(LETTER_COUNTS.charAt(i))) {
+				count = count * 10 + (LETTER_COUNTS.charAt(i++) - '0');
+			}
+
+			for (int j = 0; j < count; j++) {
+				pool.append(letter);
+			}
+		}
+
+		LETTER_POOL = pool.toString().toCharArray();
+	}
+
+	private static Dictionary sDictionary;
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * @return directory of the word lists, set by the {@code jmh} Gradle task
+	 */
+	static File getExtrasDir() {
+		return new File(System.getProperty("wrdl.extras", "extras"));
+	}
+
+	/**
+	 * @return the plain text word list the app used to ship, words of three
+	 * or more letters
+	 */
+	static File getWordList() {
+		return new File(getExtrasDir(), "sowpods3");
+	}
+
+	/**
+	 * Compiles the word list into an image, like the {@code compileDictionary}
+	 * build task does.
+	 *
+	 * @return the image file, deleted when the VM exits
+	 */
+	static File compileImage() throws IOException {
+		File image = File.createTempFile("sowpods", ".dawg");
+		image.deleteOnExit();
+
+		DictionaryCompiler.compile(new File(getExtrasDir(), "sowpods.txt"), image, 3);
+		return image;
+	}
+
+	/**
+	 * @return the mapped dictionary image, compiled once per VM
+	 */
+	static synchronized Dictionary getDictionary() throws IOException {
+		if (sDictionary == null) {
+			File image = compileImage();
+			FileInputStream stream = new FileInputStream(image);
+
+			try {
+				sDictionary = Dictionary.map(stream.getChannel(), 0, image.length());
+			} finally {
+				stream.close();
+			}
+		}
+
+		return sDictionary;
+	}
+
+	/**
+	 * Generates the board corpus for a grid size.
+	 *
+	 * @param size  - number of rows and columns
+	 * @param count - number of boards
+	 * @return boards as tile letter arrays
+	 */
+	static String[][] getBoards(int size, int count) {
+		Random random = new Random(SEED + size);
+		String[][] boards = new String[count][size * size];
+
+		for (String[] board : boards) {
+			for (int i = 0; i < board.length; i++) {
+				board[i] = String.valueOf(LETTER_POOL[random.nextInt(LETTER_POOL.length)]);
+			}
+		}
+
+		return boards;
+	}
+
+	static LetterGrid[] getGrids(int size, int count) {
+		String[][] boards = getBoards(size, count);
+		LetterGrid[] grids = new LetterGrid[count];
+
+		for (int i = 0; i < count; i++) {
+			grids[i] = new LetterGrid(boards[i], size, size);
+		}
+
+		return grids;
+	}
+}
@@ -0,0 +1,116 @@
+package com.mntnorv.wrdl.bench;
+
+import com.mntnorv.wrdl.dict.Dictionary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Time to get a usable dictionary: parsing the text word list, plain or
+ * gzip-compressed, and building the graph, against mapping a compiled
+ * image.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(2)
+public class DictionaryLoadBenchmark {
+	private File mWordList;
+	private File mCompressedWordList;
+	private File mImage;
+
+	@Setup
+	public void setUp() throws IOException {
+		mWordList = BenchmarkData.getWordList();
+		mCompressedWordList = compress(mWordList);
+		mImage = BenchmarkData.compileImage();
+	}
+
+	/**
+	 * @return a gzip-compressed copy of the file, deleted when the VM exits
+	 */
+	private static File compress(File file) throws IOException {
+		File compressed = File.createTempFile(file.getName(), ".gz");
+		compressed.deleteOnExit();
+
+		InputStream input = new FileInputStream(file);
+		OutputStream output = new GZIPOutputStream(new FileOutputStream(compressed));
+
+		try {
+			byte[] buffer = new byte[8192];
+			int read;
+
+			while ((read = input.read(buffer)) != -1) {
+				output.write(buffer, 0, read);
+			}
+		} finally {
+			input.close();
+			output.close();
+		}
+
+		return compressed;
+	}
+
+	@Benchmark
+	public Dictionary loadWordList() throws IOException {
+		FileInputStream stream = new FileInputStream(mWordList);
+
+		try {
+			return new Dictionary(stream);
+		} finally {
+			stream.close();
+		}
+	}
+
+	@Benchmark
+	public Dictionary loadCompressedWordList() throws IOException {
+		FileInputStream stream = new FileInputStream(mCompressedWordList);
+
+		try {
+			return new Dictionary(stream);
+		} finally {
+			stream.close();
+		}
+	}
+
+	@Benchmark
+	public Dictionary mapImage() throws IOException {
+		FileInputStream stream = new FileInputStream(mImage);
+
+		try {
+			return Dictionary.map(stream.getChannel(), 0, mImage.length());
+		} finally {
+			stream.close();
+		}
+	}
+
+	@Benchmark
+	public Dictionary readImage() throws IOException {
+		FileInputStream stream = new FileInputStream(mImage);
+
+		try {
+			return Dictionary.fromImage(stream);
+		} finally {
+			stream.close();
+		}
+	}
+}
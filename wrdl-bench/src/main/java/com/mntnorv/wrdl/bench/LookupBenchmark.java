@@ -0,0 +1,120 @@
+package com.mntnorv.wrdl.bench;
+
+import com.mntnorv.wrdl.dict.Dictionary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup throughput over a seeded mix of dictionary words, their prefixes
+ * and random strings, with and without the dictionary's Bloom filters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class LookupBenchmark {
+	private static final int SAMPLE_SIZE = 4096;
+
+	// False positive rate of the dictionary's filters, 0 for none
+	@Param({"0", "0.01"})
+	public double filterRate;
+
+	private Dictionary mDictionary;
+	private String[] mWords;
+	private String[] mPrefixes;
+
+	@Setup
+	public void setUp() throws IOException {
+		mDictionary = BenchmarkData.getDictionary();
+
+		// Every trial runs in a fresh fork, so the shared dictionary can be changed
+		if (filterRate > 0) {
+			mDictionary.buildFilters(filterRate);
+		}
+
+		Random random = new Random(BenchmarkData.SEED);
+		mWords = new String[SAMPLE_SIZE];
+		mPrefixes = new String[SAMPLE_SIZE];
+
+		for (int i = 0; i < SAMPLE_SIZE; i++) {
+			String word = mDictionary.getWord(random.nextInt(mDictionary.getWordCount()));
+
+			if (i % 2 == 0) {
+				mWords[i] = word;
+				mPrefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+			} else {
+				mWords[i] = randomString(random, word.length());
+				mPrefixes[i] = randomString(random, 1 + random.nextInt(word.length()));
+			}
+		}
+	}
+
+	private static String randomString(Random random, int length) {
+		char[] chars = new char[length];
+
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) ('A' + random.nextInt(26));
+		}
+
+		return new String(chars);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLE_SIZE)
+	public int contains() {
+		int found = 0;
+
+		for (String word : mWords) {
+			if (mDictionary.contains(word)) {
+				found++;
+			}
+		}
+
+		return found;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLE_SIZE)
+	public int containsPrefix() {
+		int found = 0;
+
+		for (String prefix : mPrefixes) {
+			if (mDictionary.containsPrefix(prefix)) {
+				found++;
+			}
+		}
+
+		return found;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLE_SIZE)
+	public int indexOf() {
+		int found = 0;
+
+		for (String word : mWords) {
+			if (mDictionary.indexOf(word) >= 0) {
+				found++;
+			}
+		}
+
+		return found;
+	}
+}
@@ -0,0 +1,54 @@
+package com.mntnorv.wrdl.bench;
+
+import com.mntnorv.wrdl.persist.StateField;
+import com.mntnorv.wrdl.persist.StateReader;
+import com.mntnorv.wrdl.persist.StateWriter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Saved game fields held in memory, standing in for a database row.
+ */
+class MemoryState implements StateWriter, StateReader {
+	private final Map<StateField, Object> mFields = new EnumMap<StateField, Object>(StateField.class);
+
+	public void clear() {
+		mFields.clear();
+	}
+
+	@Override
+	public void putInt(StateField field, int value) {
+		mFields.put(field, value);
+	}
+
+	@Override
+	public void putString(StateField field, String value) {
+		mFields.put(field, value);
+	}
+
+	@Override
+	public void putBlob(StateField field, byte[] value) {
+		mFields.put(field, value);
+	}
+
+	@Override
+	public boolean has(StateField field) {
+		return mFields.get(field) != null;
+	}
+
+	@Override
+	public int getInt(StateField field) {
+		return (Integer) mFields.get(field);
+	}
+
+	@Override
+	public String getString(StateField field) {
+		return (String) mFields.get(field);
+	}
+
+	@Override
+	public byte[] getBlob(StateField field) {
+		return (byte[]) mFields.get(field);
+	}
+}
@@ -0,0 +1,82 @@
+package com.mntnorv.wrdl.bench;
+
+import com.mntnorv.wrdl.dict.Dictionary;
+import com.mntnorv.wrdl.dict.GridSolver;
+import com.mntnorv.wrdl.dict.LetterGrid;
+import com.mntnorv.wrdl.dict.WordPaths;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full board solve latency over the seeded corpus. Each invocation solves
+ * the next board, cycling through the corpus.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class SolveBenchmark {
+	private static final int CORPUS_SIZE = 256;
+
+	@Param({"4", "5", "6"})
+	public int size;
+
+	private Dictionary mDictionary;
+	private LetterGrid[] mGrids;
+	private GridSolver mSolver;
+	private int mNext;
+
+	@Setup
+	public void setUp() throws IOException {
+		mDictionary = BenchmarkData.getDictionary();
+		mGrids = BenchmarkData.getGrids(size, CORPUS_SIZE);
+		mSolver = new GridSolver();
+		mNext = 0;
+	}
+
+	private LetterGrid nextGrid() {
+		LetterGrid grid = mGrids[mNext];
+		mNext = (mNext + 1) % CORPUS_SIZE;
+		return grid;
+	}
+
+	/**
+	 * Solving with a reused solver, as in bulk board generation.
+	 */
+	@Benchmark
+	public int[] solveOrdinals() {
+		return mSolver.solve(nextGrid(), mDictionary);
+	}
+
+	/**
+	 * Solving through the public API, building the set of words.
+	 */
+	@Benchmark
+	public Set<String> getWordsInGrid() {
+		return nextGrid().getWordsInGrid(mDictionary);
+	}
+
+	/**
+	 * Solving while recording every path of every word.
+	 */
+	@Benchmark
+	public WordPaths findAllWordPaths() {
+		return nextGrid().findWordPaths(mDictionary, true);
+	}
+}
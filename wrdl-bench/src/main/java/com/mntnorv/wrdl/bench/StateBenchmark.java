@@ -0,0 +1,79 @@
+package com.mntnorv.wrdl.bench;
+
+import com.mntnorv.wrdl.GameMode;
+import com.mntnorv.wrdl.GameState;
+import com.mntnorv.wrdl.dict.Dictionary;
+import com.mntnorv.wrdl.persist.StateField;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and restoring a game in progress through the persistence SPI,
+ * the work behind every database round trip of a game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class StateBenchmark {
+	@Param({"4", "5", "6"})
+	public int size;
+
+	private Dictionary mDictionary;
+	private GameState mState;
+	private MemoryState mSaved;
+	private MemoryState mScratch;
+
+	@Setup
+	public void setUp() throws IOException {
+		mDictionary = BenchmarkData.getDictionary();
+		mState = new GameState(size, BenchmarkData.getBoards(size, 1)[0], GameMode.INFINITE);
+		mState.findAllWords(mDictionary);
+
+		// Guess every third word
+		List<String> words = mState.getAllWords();
+		for (int i = 0; i < words.size(); i += 3) {
+			mState.addGuessedWord(words.get(i));
+		}
+
+		mSaved = new MemoryState();
+		mState.writeTo(mSaved);
+		mSaved.putInt(StateField.ID, 1);
+
+		mScratch = new MemoryState();
+	}
+
+	@Benchmark
+	public GameState roundTrip() {
+		mScratch.clear();
+		mState.writeTo(mScratch);
+		return GameState.readFrom(mScratch);
+	}
+
+	/**
+	 * Restoring a saved game up to the point it can be played, including
+	 * decoding its stored word list.
+	 */
+	@Benchmark
+	public GameState resume() {
+		GameState state = GameState.readFrom(mSaved);
+		state.findAllWords(mDictionary);
+		return state;
+	}
+}
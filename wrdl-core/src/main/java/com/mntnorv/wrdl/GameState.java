@@ -0,0 +1,370 @@
+package com.mntnorv.wrdl;
+
+import com.mntnorv.wrdl.dict.Board;
+import com.mntnorv.wrdl.dict.Dictionary;
+import com.mntnorv.wrdl.dict.LetterGrid;
+import com.mntnorv.wrdl.dict.OrdinalCodec;
+import com.mntnorv.wrdl.persist.StateField;
+import com.mntnorv.wrdl.persist.StateReader;
+import com.mntnorv.wrdl.persist.StateWriter;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+public class GameState {
+	private int id = -1;
+	private int size;
+	private GameMode gameMode;
+	private String[] letterArray;
+	private byte[] wordsData;
+	private int points;
+
+	// Sorted dictionary ordinals of the words in the grid, null until findAllWords
+	private Dictionary dictionary;
+	private int[] wordOrdinals;
+
+	// Bit i is set if the word wordOrdinals[i] has been guessed
+	private BitSet guessed;
+	private int guessedCount = 0;
+
+	private int wordCountCache = 0;
+
+	//================================================================================
+	// Constructors
+	//================================================================================
+
+	public GameState(int size, String[] grid, GameMode gameMode) {
+		this.size = size;
+		this.gameMode = gameMode;
+
+		// Copy letter array
+		letterArray = grid.clone();
+		guessed = new BitSet();
+
+		points = 0;
+	}
+
+	/**
+	 * Creates a game on an already solved board, so {@link #findAllWords}
+	 * has nothing left to do.
+	 *
+	 * @param board    - solved board
+	 * @param gameMode - game mode
+	 * @param dict     - dictionary the board was solved with
+	 */
+	public GameState(Board board, GameMode gameMode, Dictionary dict) {
+		this(board.getSize(), board.getTiles(), gameMode);
+
+		dictionary = dict;
+		wordOrdinals = board.getWordOrdinals();
+		wordsData = OrdinalCodec.encode(wordOrdinals, dict);
+	}
+
+	private GameState(int id, int size, String[] grid, GameMode gameMode,
+					  int wordCount, int guessedCount, byte[] guessed, byte[] wordsData, int points) {
+		this (size, grid, gameMode);
+		this.id = id;
+		this.guessed = bytesToBitSet(guessed);
+		this.guessedCount = guessedCount;
+		this.wordsData = wordsData;
+		this.wordCountCache = wordCount;
+
+		this.points = points;
+	}
+
+	//================================================================================
+	// General public methods
+	//================================================================================
+	/**
+	 * Finds the words in the grid. The stored word list is decoded if there
+	 * is one for {@code dict}, otherwise the grid is solved and the result is
+	 * kept for {@link #writeTo}.
+	 *
+	 * @param dict - dictionary
+	 */
+	public void findAllWords(Dictionary dict) {
+		if (wordOrdinals != null && dictionary == dict) {
+			return;
+		}
+
+		int[] ordinals = null;
+		if (wordsData != null) {
+			ordinals = OrdinalCodec.decode(wordsData, dict);
+		}
+
+		if (ordinals == null) {
+			LetterGrid lGrid = new LetterGrid(letterArray, size, size);
+			ordinals = lGrid.findWordOrdinals(dict);
+			wordsData = OrdinalCodec.encode(ordinals, dict);
+		}
+
+		dictionary = dict;
+		wordOrdinals = ordinals;
+
+		// Drop flags that point past the end of the word list
+		if (guessed.length() > wordOrdinals.length) {
+			guessed.clear(wordOrdinals.length, guessed.length());
+		}
+
+		guessedCount = guessed.cardinality();
+	}
+
+	/**
+	 * Marks a word as guessed.
+	 *
+	 * @param word - word in upper case
+	 * @return {@code true} if the word is in the grid and was not guessed
+	 * before
+	 */
+	public boolean addGuessedWord(String word) {
+		int index = indexOfWord(word);
+
+		if (index < 0 || guessed.get(index)) {
+			return false;
+		}
+
+		guessed.set(index);
+		guessedCount++;
+
+		return true;
+	}
+
+	public boolean isGuessed(String word) {
+		int index = indexOfWord(word);
+		return index >= 0 && guessed.get(index);
+	}
+
+	public boolean isWordInGrid(String word) {
+		return indexOfWord(word) >= 0;
+	}
+
+	/**
+	 * Gets the position of a word in the word list of the grid.
+	 *
+	 * @param word - word in upper case
+	 * @return index into {@link #getAllWords}, or a negative number if the
+	 * word is not in the grid
+	 */
+	public int indexOfWord(String word) {
+		checkWordsFound();
+
+		int ordinal = dictionary.indexOf(word);
+		if (ordinal < 0) {
+			return -1;
+		}
+
+		return Arrays.binarySearch(wordOrdinals, ordinal);
+	}
+
+	private void checkWordsFound() {
+		if (wordOrdinals == null) {
+			throw new IllegalStateException("findAllWords has not been called");
+		}
+	}
+
+	//================================================================================
+	// Setters
+	//================================================================================
+
+	public void setId(int id) {
+		this.id = id;
+	}
+
+	//================================================================================
+	// Getters
+	//================================================================================
+
+	public int getId() {
+		return id;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public GameMode getGameMode() {
+		return gameMode;
+	}
+
+	public String[] getLetterArray() {
+		return letterArray.clone();
+	}
+
+	/**
+	 * @return the words in the grid, in alphabetical order. The list is a
+	 * read-only view, words are looked up from the dictionary on access.
+	 */
+	public List<String> getAllWords() {
+		checkWordsFound();
+
+		return new AbstractList<String>() {
+			@Override
+			public String get(int index) {
+				return dictionary.getWord(wordOrdinals[index]);
+			}
+
+			@Override
+			public int size() {
+				return wordOrdinals.length;
+			}
+		};
+	}
+
+	/**
+	 * @return the guessed words, in alphabetical order
+	 */
+	public List<String> getGuessedWords() {
+		checkWordsFound();
+
+		List<String> words = new ArrayList<String>(guessedCount);
+		for (int i = guessed.nextSetBit(0); i >= 0; i = guessed.nextSetBit(i + 1)) {
+			words.add(dictionary.getWord(wordOrdinals[i]));
+		}
+
+		return words;
+	}
+
+	/**
+	 * @return sorted dictionary ordinals of the words in the grid, or
+	 * {@code null} before {@link #findAllWords} is called
+	 */
+	public int[] getWordOrdinals() {
+		return wordOrdinals != null ? wordOrdinals.clone() : null;
+	}
+
+	public int getWordCount() {
+		if (wordOrdinals != null) {
+			return wordOrdinals.length;
+		} else {
+			return wordCountCache;
+		}
+	}
+
+	public int getGuessedWordCount() {
+		return guessedCount;
+	}
+
+	//================================================================================
+	// Persistence
+	//================================================================================
+
+	/**
+	 * Saves the game.
+	 *
+	 * @param writer - destination of the game's fields
+	 */
+	public void writeTo(StateWriter writer) {
+		writer.putInt(StateField.SIZE, getSize());
+		writer.putString(StateField.LETTERS, GameState.letterArrayToString(getLetterArray()));
+		writer.putInt(StateField.GAME_MODE, gameMode.getId());
+		writer.putInt(StateField.WORDS, getWordCount());
+		writer.putInt(StateField.GUESSED, getGuessedWordCount());
+		writer.putInt(StateField.POINTS, points);
+
+		writer.putBlob(StateField.GUESSED_DATA, bitSetToBytes(guessed, getWordCount()));
+
+		if (wordsData != null) {
+			writer.putBlob(StateField.WORDS_DATA, wordsData);
+		}
+	}
+
+	/**
+	 * Restores a saved game.
+	 *
+	 * @param reader - source of the game's fields
+	 * @return the restored game
+	 */
+	public static GameState readFrom(StateReader reader) {
+		int id = reader.has(StateField.ID) ? reader.getInt(StateField.ID) : -1;
+		int size = reader.getInt(StateField.SIZE);
+		String letterStr = reader.getString(StateField.LETTERS);
+		GameMode gamemode = GameMode.fromId(reader.getInt(StateField.GAME_MODE));
+		int wordCount = reader.getInt(StateField.WORDS);
+		int guessedCount = reader.getInt(StateField.GUESSED);
+		byte[] guessed = reader.getBlob(StateField.GUESSED_DATA);
+		int points = reader.getInt(StateField.POINTS);
+
+		// Solved word list, decoded in findAllWords
+		byte[] wordsData = null;
+		if (reader.has(StateField.WORDS_DATA)) {
+			wordsData = reader.getBlob(StateField.WORDS_DATA);
+		}
+
+		String letters[] = GameState.stringToLetterArray(letterStr);
+
+		GameState state = new GameState(id, size, letters, gamemode,
+				wordCount, guessedCount, guessed, wordsData, points);
+
+		return state;
+	}
+
+	//================================================================================
+	// Static methods
+	//================================================================================
+
+	/**
+	 * Unpacks guessed flags, bit {@code i % 8} of byte {@code i / 8} being
+	 * the flag of word {@code i}.
+	 */
+	private static BitSet bytesToBitSet(byte[] bytes) {
+		BitSet bits = new BitSet(bytes.length * 8);
+
+		for (int i = 0; i < bytes.length; i++) {
+			int currentByte = bytes[i] & 0xFF;
+
+			while (currentByte != 0) {
+				int bit = Integer.numberOfTrailingZeros(currentByte);
+				bits.set(i * 8 + bit);
+				currentByte &= currentByte - 1;
+			}
+		}
+
+		return bits;
+	}
+
+	/**
+	 * Packs guessed flags in the layout read by {@link #bytesToBitSet}.
+	 */
+	private static byte[] bitSetToBytes(BitSet bits, int wordCount) {
+		int length = Math.max(wordCount, bits.length());
+		byte[] bytes = new byte[length / 8 + 1];
+
+		for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+			bytes[i / 8] |= 1 << (i % 8);
+		}
+
+		return bytes;
+	}
+
+	public static String letterArrayToString(String[] letters) {
+		String letterStr = "";
+
+		for (String letter: letters) {
+			letterStr += letter;
+		}
+
+		return letterStr;
+	}
+
+	public static String[] stringToLetterArray(String letterStr) {
+		List<String> letterList = new ArrayList<String>();
+
+		int letter = -1;
+		for (int j = 0; j < letterStr.length(); j++) {
+			if (Character.isUpperCase(letterStr.charAt(j))) {
+				letter++;
+				letterList.add("" + letterStr.charAt(j));
+			} else {
+				letterList.set(letter, letterList.get(letter) + letterStr.charAt(j));
+			}
+		}
+
+		String[] letterArray = new String[letterList.size()];
+		letterList.toArray(letterArray);
+
+		return letterArray;
+	}
+}
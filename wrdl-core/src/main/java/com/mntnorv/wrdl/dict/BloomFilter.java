@@ -0,0 +1,138 @@
+package com.mntnorv.wrdl.dict;
+
+/**
+ * Bloom filter over letter sequences.
+ *
+ * <p>Sized for an expected number of keys and a target false positive
+ * rate. The filter is split into blocks of one cache line and all probes
+ * of a key fall into the same block, so a lookup touches memory once. This
+ * raises the false positive rate a little over that of a plain Bloom
+ * filter, which is made up for with a few extra bits per key.
+ * {@link #hash} is incremental, so the prefixes of a word are hashed in one
+ * pass over it.</p>
+ */
+final class BloomFilter {
+	private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+	private static final long FNV_PRIME = 0x100000001B3L;
+
+	/**
+	 * Hash of the empty key.
+	 */
+	static final long EMPTY = FNV_OFFSET;
+
+	// 64 byte blocks of 512 bits, a probe takes 9 bits of the hash
+	private static final int BLOCK_LONGS = 8;
+	private static final int PROBE_BITS = 9;
+	private static final int PROBE_MASK = (1 << PROBE_BITS) - 1;
+
+	// Three probes from the first mix of a hash, seven from the second
+	private static final int MAX_HASH_COUNT = 3 + 64 / PROBE_BITS;
+
+	// Blocking costs about a tenth more bits for the same false positive rate
+	private static final double BLOCK_OVERHEAD = 1.1;
+
+	private final long[] mBits;
+	private final int mBlockCount;
+	private final int mHashCount;
+
+	/**
+	 * @param keyCount          - expected number of keys
+	 * @param falsePositiveRate - target rate of false positives, between 0
+	 *                          and 1
+	 */
+	BloomFilter(int keyCount, double falsePositiveRate) {
+		if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+		}
+
+		double ln2 = Math.log(2);
+		int keys = Math.max(keyCount, 1);
+		double bits = -keys * Math.log(falsePositiveRate) / (ln2 * ln2) * BLOCK_OVERHEAD;
+
+		mBlockCount = (int) Math.ceil(bits / (BLOCK_LONGS * 64));
+		mBits = new long[mBlockCount * BLOCK_LONGS];
+
+		int hashCount = (int) Math.round(-Math.log(falsePositiveRate) / ln2);
+		mHashCount = Math.max(1, Math.min(hashCount, MAX_HASH_COUNT));
+	}
+
+	/**
+	 * Extends the hash of a key by one letter. Start from {@link #EMPTY}.
+	 */
+	static long hash(long hash, int letter) {
+		return (hash ^ letter) * FNV_PRIME;
+	}
+
+	static long hash(CharSequence key) {
+		long hash = EMPTY;
+
+		for (int i = 0; i < key.length(); i++) {
+			hash = hash(hash, key.charAt(i));
+		}
+
+		return hash;
+	}
+
+	void add(long hash) {
+		long first = mix(hash);
+		long second = mix(first);
+		int block = getBlock(first);
+
+		for (int i = 0; i < mHashCount; i++) {
+			int bit = getProbe(first, second, i);
+			mBits[block + (bit >>> 6)] |= 1L << bit;
+		}
+	}
+
+	/**
+	 * @return {@code false} if the key was certainly not added
+	 */
+	boolean mightContain(long hash) {
+		long first = mix(hash);
+		long second = mix(first);
+		int block = getBlock(first);
+
+		for (int i = 0; i < mHashCount; i++) {
+			int bit = getProbe(first, second, i);
+
+			if ((mBits[block + (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Index of the first long of a key's block, picked with the top 32 bits
+	 * of the hash, which the probes do not use.
+	 */
+	private int getBlock(long first) {
+		return (int) (((first >>> 32) * mBlockCount) >>> 32) * BLOCK_LONGS;
+	}
+
+	/**
+	 * Bit of probe {@code i} within the block. The first three probes come
+	 * from the low 27 bits of {@code first}, the rest from {@code second}.
+	 */
+	private static int getProbe(long first, long second, int i) {
+		if (i < 3) {
+			return (int) (first >>> (i * PROBE_BITS)) & PROBE_MASK;
+		}
+
+		return (int) (second >>> ((i - 3) * PROBE_BITS)) & PROBE_MASK;
+	}
+
+	/**
+	 * @return size of the filter in bytes
+	 */
+	int getSize() {
+		return mBits.length * 8;
+	}
+
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
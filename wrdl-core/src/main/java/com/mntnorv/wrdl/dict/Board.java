@@ -0,0 +1,86 @@
+package com.mntnorv.wrdl.dict;
+
+/**
+ * A solved board: its tiles, the words in it and figures describing how
+ * rich it is.
+ */
+public class Board {
+	private final int mSize;
+	private final String[] mTiles;
+	private final int[] mWordOrdinals;
+	private final int mScore;
+	private final int mLongestWordLength;
+
+	/**
+	 * Creates a board from a solved grid.
+	 *
+	 * @param size         - number of rows and columns
+	 * @param tiles        - tile letters, in grid order
+	 * @param wordOrdinals - sorted ordinals of the words in the grid
+	 * @param dict         - dictionary the ordinals belong to
+	 */
+	public Board(int size, String[] tiles, int[] wordOrdinals, Dictionary dict) {
+		mSize = size;
+		mTiles = tiles.clone();
+		mWordOrdinals = wordOrdinals.clone();
+		mScore = Scoring.getScore(dict, wordOrdinals);
+
+		int longest = 0;
+		for (int ordinal : wordOrdinals) {
+			longest = Math.max(longest, dict.getWordLength(ordinal));
+		}
+
+		mLongestWordLength = longest;
+	}
+
+	/**
+	 * Creates a board from stored figures.
+	 *
+	 * @param size              - number of rows and columns
+	 * @param tiles             - tile letters, in grid order
+	 * @param wordOrdinals      - sorted ordinals of the words in the grid
+	 * @param score             - total score of the words
+	 * @param longestWordLength - number of letters in the longest word
+	 */
+	public Board(int size, String[] tiles, int[] wordOrdinals, int score, int longestWordLength) {
+		mSize = size;
+		mTiles = tiles.clone();
+		mWordOrdinals = wordOrdinals.clone();
+		mScore = score;
+		mLongestWordLength = longestWordLength;
+	}
+
+	public int getSize() {
+		return mSize;
+	}
+
+	public String[] getTiles() {
+		return mTiles.clone();
+	}
+
+	/**
+	 * @return sorted dictionary ordinals of the words in the board
+	 */
+	public int[] getWordOrdinals() {
+		return mWordOrdinals.clone();
+	}
+
+	public int getWordCount() {
+		return mWordOrdinals.length;
+	}
+
+	/**
+	 * @return total score of all words in the board, see {@link Scoring}
+	 */
+	public int getScore() {
+		return mScore;
+	}
+
+	/**
+	 * @return number of letters in the longest word, {@code 0} if the board
+	 * has no words
+	 */
+	public int getLongestWordLength() {
+		return mLongestWordLength;
+	}
+}
@@ -0,0 +1,76 @@
+package com.mntnorv.wrdl.dict;
+
+/**
+ * Ranges a generated board must fall in. All ranges are inclusive and
+ * unbounded by default.
+ */
+public class BoardConstraints {
+	private int mMinWords = 0;
+	private int mMaxWords = Integer.MAX_VALUE;
+	private int mMinScore = 0;
+	private int mMaxScore = Integer.MAX_VALUE;
+	private int mMinLongestWord = 0;
+	private int mMaxLongestWord = Integer.MAX_VALUE;
+
+	/**
+	 * Limits the number of words in a board.
+	 *
+	 * @param min - minimum word count
+	 * @param max - maximum word count
+	 * @return these constraints
+	 */
+	public BoardConstraints setWordCount(int min, int max) {
+		checkRange(min, max);
+		mMinWords = min;
+		mMaxWords = max;
+		return this;
+	}
+
+	/**
+	 * Limits the total score of a board.
+	 *
+	 * @param min - minimum score
+	 * @param max - maximum score
+	 * @return these constraints
+	 */
+	public BoardConstraints setScore(int min, int max) {
+		checkRange(min, max);
+		mMinScore = min;
+		mMaxScore = max;
+		return this;
+	}
+
+	/**
+	 * Limits the length of the longest word in a board.
+	 *
+	 * @param min - minimum length of the longest word
+	 * @param max - maximum length of the longest word
+	 * @return these constraints
+	 */
+	public BoardConstraints setLongestWord(int min, int max) {
+		checkRange(min, max);
+		mMinLongestWord = min;
+		mMaxLongestWord = max;
+		return this;
+	}
+
+	/**
+	 * @param board - solved board
+	 * @return {@code true} if the board meets all constraints
+	 */
+	public boolean accepts(Board board) {
+		return inRange(board.getWordCount(), mMinWords, mMaxWords)
+				&& inRange(board.getScore(), mMinScore, mMaxScore)
+				&& inRange(board.getLongestWordLength(), mMinLongestWord, mMaxLongestWord);
+	}
+
+	private static boolean inRange(int value, int min, int max) {
+		return value >= min && value <= max;
+	}
+
+	private static void checkRange(int min, int max) {
+		if (min < 0 || max < min) {
+			throw new IllegalArgumentException("Invalid range: " + min + " to " + max);
+		}
+	}
+}
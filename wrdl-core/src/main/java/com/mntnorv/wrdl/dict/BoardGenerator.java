@@ -0,0 +1,183 @@
+package com.mntnorv.wrdl.dict;
+
+import com.mntnorv.wrdl.log.Logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Generates boards that meet a set of {@link BoardConstraints}.
+ *
+ * <p>Candidates are rolled from {@link Dice}, solved and kept if they meet
+ * the constraints. Candidates are numbered and every candidate is rolled
+ * from its own seed, derived from the generator seed and its number, so
+ * the same seed always gives the same boards however the work is split.
+ * Candidates are solved in batches, one task per batch, on an executor.</p>
+ */
+public class BoardGenerator {
+	private static final String TAG = "BoardGenerator";
+	private static final int BATCH_SIZE = 64;
+	private static final long DEFAULT_MAX_CANDIDATES = 1L << 22;
+
+	private final Dictionary mDictionary;
+	private final int mSize;
+	private final Dice mDice;
+	private final BoardConstraints mConstraints;
+	private final ExecutorService mExecutor;
+	private final int mBatchesPerRound;
+	private long mMaxCandidates = DEFAULT_MAX_CANDIDATES;
+
+	private final ThreadLocal<GridSolver> mSolvers = new ThreadLocal<GridSolver>() {
+		@Override
+		protected GridSolver initialValue() {
+			return new GridSolver();
+		}
+	};
+
+	/**
+	 * Creates a generator using the usual dice for the board size, running
+	 * on the pool shared with {@link ParallelGridSolver}.
+	 *
+	 * @param dict        - dictionary
+	 * @param size        - number of rows and columns
+	 * @param constraints - constraints boards must meet
+	 */
+	public BoardGenerator(Dictionary dict, int size, BoardConstraints constraints) {
+		this(dict, size, Dice.forSize(size), constraints, ParallelGridSolver.getDefaultExecutor());
+	}
+
+	/**
+	 * Creates a generator.
+	 *
+	 * @param dict        - dictionary
+	 * @param size        - number of rows and columns
+	 * @param dice        - dice to roll boards with
+	 * @param constraints - constraints boards must meet
+	 * @param executor    - executor to solve candidates on
+	 */
+	public BoardGenerator(Dictionary dict, int size, Dice dice, BoardConstraints constraints,
+						  ExecutorService executor) {
+		if (size <= 0 || size * size > LetterGrid.MAX_TILES) {
+			throw new IllegalArgumentException("Invalid board size: " + size);
+		}
+
+		mDictionary = dict;
+		mSize = size;
+		mDice = dice;
+		mConstraints = constraints;
+		mExecutor = executor;
+		mBatchesPerRound = 2 * Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Sets how many candidates {@link #generate} tries before giving up,
+	 * which bounds the time spent on constraints few boards meet.
+	 *
+	 * @param maxCandidates - maximum number of candidates per call
+	 */
+	public void setMaxCandidates(long maxCandidates) {
+		mMaxCandidates = maxCandidates;
+	}
+
+	/**
+	 * Generates boards.
+	 *
+	 * @param count - number of boards to generate
+	 * @param seed  - seed, the same seed gives the same boards
+	 * @return the boards, fewer than {@code count} if the candidate limit was
+	 * reached first
+	 * @throws InterruptedException if interrupted while waiting for the tasks
+	 */
+	public List<Board> generate(int count, long seed) throws InterruptedException {
+		List<Board> boards = new ArrayList<Board>(count);
+		List<Future<List<Board>>> futures = new ArrayList<Future<List<Board>>>(mBatchesPerRound);
+		long candidate = 0;
+
+		while (boards.size() < count && candidate < mMaxCandidates) {
+			futures.clear();
+
+			for (int i = 0; i < mBatchesPerRound && candidate < mMaxCandidates; i++) {
+				final long first = candidate;
+				final long last = Math.min(candidate + BATCH_SIZE, mMaxCandidates);
+				final long batchSeed = seed;
+
+				futures.add(mExecutor.submit(new Callable<List<Board>>() {
+					@Override
+					public List<Board> call() {
+						return generateBatch(batchSeed, first, last);
+					}
+				}));
+
+				candidate = last;
+			}
+
+			try {
+				for (Future<List<Board>> future : futures) {
+					for (Board board : future.get()) {
+						if (boards.size() < count) {
+							boards.add(board);
+						}
+					}
+				}
+			} catch (ExecutionException e) {
+				throw new RuntimeException("Board generator task failed", e.getCause());
+			} finally {
+				for (Future<List<Board>> future : futures) {
+					future.cancel(false);
+				}
+			}
+		}
+
+		if (boards.size() < count) {
+			Logging.w(TAG, "Only " + boards.size() + " of " + count + " boards met the constraints");
+		}
+
+		return boards;
+	}
+
+	/**
+	 * Rolls and solves a single candidate, on the calling thread.
+	 *
+	 * @param seed      - generator seed
+	 * @param candidate - candidate number
+	 * @return the board, or {@code null} if it does not meet the constraints
+	 */
+	public Board generateCandidate(long seed, long candidate) {
+		Random random = new Random(mix(seed + mix(candidate)));
+		String[] tiles = mDice.roll(mSize * mSize, random);
+
+		LetterGrid grid = new LetterGrid(tiles, mSize, mSize);
+		int[] ordinals = mSolvers.get().solve(grid, mDictionary);
+		Board board = new Board(mSize, tiles, ordinals, mDictionary);
+
+		return mConstraints.accepts(board) ? board : null;
+	}
+
+	private List<Board> generateBatch(long seed, long first, long last) {
+		List<Board> boards = new ArrayList<Board>();
+
+		for (long candidate = first; candidate < last; candidate++) {
+			Board board = generateCandidate(seed, candidate);
+
+			if (board != null) {
+				boards.add(board);
+			}
+		}
+
+		return boards;
+	}
+
+	/**
+	 * SplitMix64 finalizer, spreads consecutive numbers over unrelated seeds.
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,188 @@
+package com.mntnorv.wrdl.dict;
+
+import java.nio.IntBuffer;
+
+/**
+ * Minimized directed acyclic word graph packed into two int arrays.
+ *
+ * <p>{@code masks[node]} has a bit set for every {@link TileAlphabet} symbol
+ * the node has an edge for (bit 0 for 'A' up to bit 25 for 'Z', digraphs
+ * above them) and the {@link #TERMINAL} bit if a word ends at the node. The
+ * children of a node are stored next to each other, in symbol order,
+ * starting at {@code children[node]}, so a child is found by counting the
+ * mask bits below its symbol. A digraph edge leads to the same node as
+ * following its letters one by one. Lookups never allocate.</p>
+ *
+ * <p>{@code reach[node]} describes everything below a node for pruning
+ * searches: bits 0 to 25 are the letters on any path down from it and
+ * bits 26 to 30 the length of its longest suffix, saturated at 31.</p>
+ *
+ * <p>The arrays are held in {@link IntBuffer}s, so a graph can either be
+ * built on the heap or used straight from a memory-mapped
+ * {@link DictionaryImage}.</p>
+ */
+final class Dawg {
+	static final int ROOT = 0;
+	static final int NONE = -1;
+
+	static final int LETTER_COUNT = 26;
+	static final int LETTER_MASK = (1 << LETTER_COUNT) - 1;
+	static final int DIGRAPH_MASK = ((1 << TileAlphabet.SYMBOL_COUNT) - 1) & ~LETTER_MASK;
+	static final int TERMINAL = 1 << 31;
+
+	static final int DEPTH_SHIFT = LETTER_COUNT;
+	static final int MAX_DEPTH = 31;
+
+	private final IntBuffer mMasks;
+	private final IntBuffer mChildren;
+	private final IntBuffer mReach;
+	private final int mWordCount;
+
+	Dawg(int[] masks, int[] children, int wordCount) {
+		this(IntBuffer.wrap(masks), IntBuffer.wrap(children),
+				IntBuffer.wrap(computeReach(masks, children)), wordCount);
+	}
+
+	Dawg(IntBuffer masks, IntBuffer children, IntBuffer reach, int wordCount) {
+		if (masks.limit() != children.limit() || masks.limit() != reach.limit() || masks.limit() == 0) {
+			throw new IllegalArgumentException("Invalid node arrays");
+		}
+
+		mMasks = masks;
+		mChildren = children;
+		mReach = reach;
+		mWordCount = wordCount;
+	}
+
+	/**
+	 * Computes the reach of every node.
+	 */
+	private static int[] computeReach(int[] masks, int[] children) {
+		int[] reach = new int[masks.length];
+		boolean[] done = new boolean[masks.length];
+
+		computeReach(ROOT, masks, children, reach, done);
+
+		return reach;
+	}
+
+	private static int computeReach(int node, int[] masks, int[] children, int[] reach, boolean[] done) {
+		if (done[node]) {
+			return reach[node];
+		}
+
+		int letters = masks[node] & LETTER_MASK;
+		int result = letters;
+		int depth = 0;
+		int child = children[node];
+
+		for (int rest = letters; rest != 0; rest &= rest - 1) {
+			int childReach = computeReach(child++, masks, children, reach, done);
+
+			result |= childReach & LETTER_MASK;
+			depth = Math.max(depth, Math.min((childReach >>> DEPTH_SHIFT) + 1, MAX_DEPTH));
+		}
+
+		// Digraph edges lead to nodes also reached through letters, so they
+		// add nothing here but need their own reach
+		for (int rest = masks[node] & DIGRAPH_MASK; rest != 0; rest &= rest - 1) {
+			computeReach(child++, masks, children, reach, done);
+		}
+
+		reach[node] = result | depth << DEPTH_SHIFT;
+		done[node] = true;
+
+		return reach[node];
+	}
+
+	/**
+	 * Finds the child of a node.
+	 *
+	 * @param node   - parent node
+	 * @param letter - edge letter, 'A' to 'Z'
+	 * @return the child node or {@link #NONE} if there is no such edge
+	 */
+	int child(int node, char letter) {
+		int symbol = letter - 'A';
+
+		if (symbol < 0 || symbol >= LETTER_COUNT) {
+			return NONE;
+		}
+
+		int mask = mMasks.get(node);
+		int bit = 1 << symbol;
+
+		if ((mask & bit) == 0) {
+			return NONE;
+		}
+
+		return mChildren.get(node) + Integer.bitCount(mask & (bit - 1));
+	}
+
+	/**
+	 * Finds the child of a node by tile symbol.
+	 *
+	 * @param node   - parent node
+	 * @param symbol - {@link TileAlphabet} symbol
+	 * @return the child node or {@link #NONE} if there is no such edge
+	 */
+	int step(int node, int symbol) {
+		int mask = mMasks.get(node);
+		int bit = 1 << symbol;
+
+		if ((mask & bit) == 0) {
+			return NONE;
+		}
+
+		return mChildren.get(node) + Integer.bitCount(mask & (bit - 1));
+	}
+
+	/**
+	 * Follows the letters of a word from the root.
+	 *
+	 * @param word - word or prefix
+	 * @return the node the word ends at or {@link #NONE} if no word in the
+	 * graph starts with it
+	 */
+	int find(CharSequence word) {
+		int node = ROOT;
+
+		for (int i = 0; i < word.length() && node != NONE; i++) {
+			node = child(node, word.charAt(i));
+		}
+
+		return node;
+	}
+
+	boolean isTerminal(int node) {
+		return (mMasks.get(node) & TERMINAL) != 0;
+	}
+
+	boolean hasChildren(int node) {
+		return (mMasks.get(node) & LETTER_MASK) != 0;
+	}
+
+	int getMask(int node) {
+		return mMasks.get(node);
+	}
+
+	/**
+	 * @return letters on any path down from the node and the length of its
+	 * longest suffix, see the class description
+	 */
+	int getReach(int node) {
+		return mReach.get(node);
+	}
+
+	int getFirstChild(int node) {
+		return mChildren.get(node);
+	}
+
+	int getNodeCount() {
+		return mMasks.limit();
+	}
+
+	int getWordCount() {
+		return mWordCount;
+	}
+}
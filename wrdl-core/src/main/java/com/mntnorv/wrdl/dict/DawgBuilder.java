@@ -0,0 +1,290 @@
+package com.mntnorv.wrdl.dict;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds a minimized {@link Dawg} from words added in sorted order.
+ *
+ * <p>Uses the incremental algorithm by Daciuk et al.: only the path of the
+ * last added word is kept unminimized, everything left of it is merged with
+ * equivalent states as soon as it can no longer change. Memory used while
+ * building is therefore proportional to the size of the final graph, not to
+ * the size of the word list.</p>
+ */
+class DawgBuilder {
+	private static final int MAX_WORD_LENGTH = WordStore.MAX_WORD_LENGTH;
+
+	private final State mRoot = new State();
+	private final Map<State, State> mRegister = new HashMap<State, State>();
+
+	private State[] mPath = new State[MAX_WORD_LENGTH + 1];
+	private byte[] mPreviousWord = new byte[MAX_WORD_LENGTH];
+	private int mPreviousLength = 0;
+
+	private int mWordCount = 0;
+	private int mNodeCount = 1;
+	private int mNextSlot;
+	private boolean mFinished = false;
+
+	public DawgBuilder() {
+		mPath[0] = mRoot;
+	}
+
+	/**
+	 * Adds a word. Words must be added in ascending byte order, duplicates
+	 * are ignored.
+	 *
+	 * @param word   - buffer holding the word, letters 'A' to 'Z'
+	 * @param offset - index of the first letter in {@code word}
+	 * @param length - length of the word
+	 */
+	public void add(byte[] word, int offset, int length) {
+		if (mFinished) {
+			throw new IllegalStateException("Builder already finished");
+		}
+
+		if (length == 0 || length > MAX_WORD_LENGTH) {
+			throw new IllegalArgumentException("Invalid word length: " + length);
+		}
+
+		int common = 0;
+		int minLength = Math.min(length, mPreviousLength);
+		while (common < minLength && word[offset + common] == mPreviousWord[common]) {
+			common++;
+		}
+
+		if (common == length && common == mPreviousLength) {
+			return;
+		}
+
+		if (common < minLength ? word[offset + common] < mPreviousWord[common] : length < mPreviousLength) {
+			throw new IllegalArgumentException("Words must be added in sorted order");
+		}
+
+		minimize(common);
+
+		for (int i = common; i < length; i++) {
+			int symbol = word[offset + i] - 'A';
+
+			if (symbol < 0 || symbol >= Dawg.LETTER_COUNT) {
+				throw new IllegalArgumentException("Invalid letter: " + (char) word[offset + i]);
+			}
+
+			State state = new State();
+			mPath[i].addChild(symbol, state);
+			mPath[i + 1] = state;
+		}
+
+		mPath[length].terminal = true;
+
+		System.arraycopy(word, offset, mPreviousWord, 0, length);
+		mPreviousLength = length;
+		mWordCount++;
+	}
+
+	public void add(byte[] word) {
+		add(word, 0, word.length);
+	}
+
+	/**
+	 * Minimizes the remaining states and packs the graph into arrays.
+	 * The builder can not be used afterwards.
+	 *
+	 * @return the built graph
+	 */
+	public Dawg build() {
+		if (mFinished) {
+			throw new IllegalStateException("Builder already finished");
+		}
+
+		minimize(0);
+		mRegister.clear();
+		mNodeCount += mRoot.getEdgeCount();
+		mFinished = true;
+
+		int[] masks = new int[mNodeCount];
+		int[] children = new int[mNodeCount];
+
+		masks[Dawg.ROOT] = mRoot.getMask();
+		mNextSlot = Dawg.ROOT + 1;
+		children[Dawg.ROOT] = layout(mRoot, masks, children);
+
+		return new Dawg(masks, children, mWordCount);
+	}
+
+	public int getWordCount() {
+		return mWordCount;
+	}
+
+	/**
+	 * Builds a graph holding all words of a store.
+	 *
+	 * @param words - sorted words
+	 * @return the built graph
+	 */
+	static Dawg build(WordStore words) {
+		DawgBuilder builder = new DawgBuilder();
+		WordStore.Reader reader = words.reader(0);
+
+		while (reader.hasNext()) {
+			int length = reader.next();
+			builder.add(reader.getLetters(), 0, length);
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Replaces or registers the states of the previous word's path deeper
+	 * than {@code depth}, starting from the deepest one.
+	 */
+	private void minimize(int depth) {
+		for (int i = mPreviousLength; i > depth; i--) {
+			State child = mPath[i];
+			State registered = mRegister.get(child);
+
+			if (registered != null) {
+				mPath[i - 1].replaceLastChild(registered);
+			} else {
+				mRegister.put(child, child);
+				mNodeCount += child.getEdgeCount();
+			}
+
+			mPath[i] = null;
+		}
+
+		if (depth < mPreviousLength) {
+			mPreviousLength = depth;
+		}
+	}
+
+	/**
+	 * Places the children of a state in consecutive slots, letters first,
+	 * then the ends of its digraph edges.
+	 *
+	 * @return index of the first child slot
+	 */
+	private int layout(State state, int[] masks, int[] children) {
+		if (state.firstSlot >= 0) {
+			return state.firstSlot;
+		}
+
+		int first = mNextSlot;
+		state.firstSlot = first;
+		mNextSlot += state.getEdgeCount();
+
+		int slot = first;
+		for (int i = 0; i < state.children.length; i++) {
+			State child = state.children[i];
+			masks[slot] = child.getMask();
+			children[slot] = layout(child, masks, children);
+			slot++;
+		}
+
+		for (int symbol = Dawg.LETTER_COUNT; symbol < TileAlphabet.SYMBOL_COUNT; symbol++) {
+			State child = state.follow(TileAlphabet.getToken(symbol));
+
+			if (child != null) {
+				masks[slot] = child.getMask();
+				children[slot] = layout(child, masks, children);
+				slot++;
+			}
+		}
+
+		return first;
+	}
+
+	/**
+	 * Mutable graph state used during construction.
+	 */
+	private static class State {
+		private static final State[] NO_CHILDREN = new State[0];
+
+		public State[] children = NO_CHILDREN;
+		public int mask = 0;
+		public boolean terminal = false;
+		public int firstSlot = -1;
+
+		public void addChild(int symbol, State state) {
+			children = Arrays.copyOf(children, children.length + 1);
+			children[children.length - 1] = state;
+			mask |= 1 << symbol;
+		}
+
+		public void replaceLastChild(State state) {
+			children[children.length - 1] = state;
+		}
+
+		/**
+		 * Follows letters down from this state, only valid once the states
+		 * below are final.
+		 *
+		 * @return the state reached or {@code null} if there is no such path
+		 */
+		public State follow(String letters) {
+			State state = this;
+
+			for (int i = 0; i < letters.length() && state != null; i++) {
+				int bit = 1 << (letters.charAt(i) - 'A');
+				state = (state.mask & bit) != 0
+						? state.children[Integer.bitCount(state.mask & (bit - 1))]
+						: null;
+			}
+
+			return state;
+		}
+
+		public int getMask() {
+			int result = terminal ? mask | Dawg.TERMINAL : mask;
+
+			for (int symbol = Dawg.LETTER_COUNT; symbol < TileAlphabet.SYMBOL_COUNT; symbol++) {
+				if (follow(TileAlphabet.getToken(symbol)) != null) {
+					result |= 1 << symbol;
+				}
+			}
+
+			return result;
+		}
+
+		/**
+		 * @return number of child slots of the state, letters and digraphs
+		 */
+		public int getEdgeCount() {
+			return Integer.bitCount(getMask() & (Dawg.LETTER_MASK | Dawg.DIGRAPH_MASK));
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof State)) {
+				return false;
+			}
+
+			State other = (State) o;
+			if (other.mask != mask || other.terminal != terminal) {
+				return false;
+			}
+
+			for (int i = 0; i < children.length; i++) {
+				if (children[i] != other.children[i]) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			// Digraph bits follow from the children, so they are left out
+			int hash = terminal ? mask | Dawg.TERMINAL : mask;
+
+			for (State child : children) {
+				hash = hash * 31 + System.identityHashCode(child);
+			}
+
+			return hash;
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.mntnorv.wrdl.dict;
+
+import java.util.Random;
+
+/**
+ * A set of letter dice, rolled to fill a board. Letters are drawn the way
+ * the physical game does it, so boards get a playable mix of vowels and
+ * consonants instead of uniformly random letters.
+ */
+public final class Dice {
+	/**
+	 * The sixteen dice of a 4x4 game.
+	 */
+	public static final Dice CLASSIC = new Dice(
+			"AAEEGN", "ABBJOO", "ACHOPS", "AFFKPS", "AOOTTW", "CIMOTU", "DEILRX", "DELRVY",
+			"DISTTY", "EEGHNW", "EEINSU", "EHRTVW", "EIOSST", "ELRTTY", "HIMNUQ", "HLNNRZ");
+
+	/**
+	 * The twenty-five dice of a 5x5 game.
+	 */
+	public static final Dice BIG = new Dice(
+			"AAAFRS", "AAEEEE", "AAFIRS", "ADENNN", "AEEEEM", "AEEGMU", "AEGMNN", "AFIRSY",
+			"BJKQXZ", "CCENST", "CEIILT", "CEILPT", "CEIPST", "DDHNOT", "DHHLOR", "DHLNOR",
+			"DHLNOR", "EIIITT", "EMOTTT", "ENSSSU", "FIPRSY", "GORRVW", "IPRRRY", "NOOTUW",
+			"OOOTTU");
+
+	private final String[][] mFaces;
+
+	/**
+	 * Creates a set of dice.
+	 *
+	 * @param dice - letters on the faces of each die, one string per die.
+	 *             A {@code Q} face is a "Qu" tile.
+	 */
+	public Dice(String... dice) {
+		if (dice.length == 0) {
+			throw new IllegalArgumentException("At least one die is needed");
+		}
+
+		mFaces = new String[dice.length][];
+
+		for (int i = 0; i < dice.length; i++) {
+			String die = dice[i];
+
+			if (die.length() == 0) {
+				throw new IllegalArgumentException("Die " + i + " has no faces");
+			}
+
+			mFaces[i] = new String[die.length()];
+			for (int j = 0; j < die.length(); j++) {
+				char letter = die.charAt(j);
+				mFaces[i][j] = letter == 'Q' ? "Qu" : String.valueOf(letter);
+			}
+		}
+	}
+
+	/**
+	 * Gets the usual dice for a board size: {@link #CLASSIC} up to 4x4 and
+	 * {@link #BIG} for larger boards.
+	 *
+	 * @param size - number of rows and columns
+	 * @return the dice
+	 */
+	public static Dice forSize(int size) {
+		return size * size <= CLASSIC.getCount() ? CLASSIC : BIG;
+	}
+
+	/**
+	 * @return number of dice in the set
+	 */
+	public int getCount() {
+		return mFaces.length;
+	}
+
+	/**
+	 * Shuffles the dice onto a board and rolls them. Boards with more tiles
+	 * than there are dice use the set again, shuffled anew.
+	 *
+	 * @param tileCount - number of tiles on the board
+	 * @param random    - source of randomness
+	 * @return letters of the tiles, in grid order
+	 */
+	public String[] roll(int tileCount, Random random) {
+		String[] tiles = new String[tileCount];
+		int[] order = new int[mFaces.length];
+
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+
+		for (int i = 0; i < tileCount; i++) {
+			int slot = i % order.length;
+
+			if (slot == 0) {
+				shuffle(order, random);
+			}
+
+			String[] faces = mFaces[order[slot]];
+			tiles[i] = faces[random.nextInt(faces.length)];
+		}
+
+		return tiles;
+	}
+
+	private static void shuffle(int[] values, Random random) {
+		for (int i = values.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int value = values[i];
+			values[i] = values[j];
+			values[j] = value;
+		}
+	}
+}
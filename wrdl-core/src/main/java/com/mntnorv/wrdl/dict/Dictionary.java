@@ -0,0 +1,446 @@
+package com.mntnorv.wrdl.dict;
+
+import com.mntnorv.wrdl.log.Logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import rx.Observable;
+import rx.Observer;
+import rx.Scheduler;
+import rx.Subscription;
+import rx.subscriptions.BooleanSubscription;
+import rx.subscriptions.CompositeSubscription;
+import rx.util.functions.Action0;
+
+public class Dictionary {
+	private Dawg mDawg;
+	private WordStore mWords;
+
+	// Ordinals in the dictionary a subset was taken from, null if this is not a subset
+	private int[] mParentOrdinals;
+
+	// Letter mask of every word, built on first use by subset()
+	private int[] mLetterMasks;
+
+	// Optional filters rejecting most misses before the exact lookup
+	private volatile BloomFilter mWordFilter;
+	private volatile BloomFilter mPrefixFilter;
+
+	/**
+	 * Loads a plain text word list, one word per line in ascending order.
+	 * The list can be gzip-compressed. The stream is not closed.
+	 *
+	 * @param stream - stream of the word list
+	 * @throws IOException if reading fails or the word list is invalid
+	 */
+	public Dictionary(InputStream stream) throws IOException {
+		WordListReader reader = new WordListReader();
+		reader.read(stream, null);
+
+		mWords = reader.getWords();
+		mDawg = reader.getDawg();
+
+		Logging.d("Dictionary", Integer.toString(mWords.size()));
+	}
+
+	private Dictionary(DictionaryImage image) {
+		mDawg = image.getDawg();
+		mWords = image.getWords();
+	}
+
+	private Dictionary(WordStore words, Dawg dawg) {
+		mWords = words;
+		mDawg = dawg;
+	}
+
+	private Dictionary(WordStore words, int[] parentOrdinals) {
+		mWords = words;
+		mDawg = DawgBuilder.build(words);
+		mParentOrdinals = parentOrdinals;
+	}
+
+	/**
+	 * Loads a plain text word list like {@link #Dictionary(InputStream)},
+	 * reporting progress after every chunk of the stream. The last emission
+	 * holds the loaded dictionary. The load runs on {@code scheduler}, stops
+	 * as soon as the subscription is unsubscribed and closes the stream when
+	 * it ends.
+	 *
+	 * @param stream    - stream of the word list, plain or gzip-compressed
+	 * @param scheduler - scheduler to load on
+	 * @return an Observable of the load's progress
+	 */
+	public static Observable<LoadProgress> observeLoad(final InputStream stream, final Scheduler scheduler) {
+		return Observable.create(new Observable.OnSubscribeFunc<LoadProgress>() {
+			@Override
+			public Subscription onSubscribe(final Observer<? super LoadProgress> observer) {
+				final BooleanSubscription cancelled = new BooleanSubscription();
+
+				Subscription scheduled = scheduler.schedule(new Action0() {
+					@Override
+					public void call() {
+						WordListReader reader = new WordListReader();
+						boolean complete;
+
+						try {
+							complete = reader.read(stream, new WordListReader.Listener() {
+								@Override
+								public boolean onProgress(long bytesRead, int wordCount) {
+									if (cancelled.isUnsubscribed()) {
+										return false;
+									}
+
+									observer.onNext(new LoadProgress(bytesRead, wordCount, null));
+									return true;
+								}
+							});
+						} catch (IOException e) {
+							close(stream);
+
+							if (!cancelled.isUnsubscribed()) {
+								observer.onError(e);
+							}
+							return;
+						} catch (RuntimeException e) {
+							close(stream);
+
+							if (!cancelled.isUnsubscribed()) {
+								observer.onError(e);
+							}
+							return;
+						}
+
+						close(stream);
+
+						if (complete && !cancelled.isUnsubscribed()) {
+							Dictionary dict = new Dictionary(reader.getWords(), reader.getDawg());
+
+							observer.onNext(new LoadProgress(reader.getBytesRead(), dict.getWordCount(), dict));
+							observer.onCompleted();
+						}
+					}
+				});
+
+				return new CompositeSubscription(cancelled, scheduled);
+			}
+		});
+	}
+
+	private static void close(InputStream stream) {
+		try {
+			stream.close();
+		} catch (IOException e) {
+			Logging.d("Dictionary", "Failed to close word list: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Maps a dictionary image compiled by {@link DictionaryCompiler}. The
+	 * image is used in place, nothing is parsed or copied to the heap.
+	 *
+	 * @param channel  - channel of the file holding the image
+	 * @param position - offset of the image in the file
+	 * @param size     - size of the image in bytes
+	 * @return the mapped dictionary
+	 * @throws IOException if mapping fails or the image is malformed
+	 */
+	public static Dictionary map(FileChannel channel, long position, long size) throws IOException {
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+		return new Dictionary(DictionaryImage.read(buffer));
+	}
+
+	/**
+	 * Reads a dictionary image compiled by {@link DictionaryCompiler} from a
+	 * stream. Use {@link #map} instead where the image is available as a file.
+	 *
+	 * @param stream - stream positioned at the start of the image
+	 * @return the loaded dictionary
+	 * @throws IOException if reading fails or the image is malformed
+	 */
+	public static Dictionary fromImage(InputStream stream) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		byte[] readBuffer = new byte[8192];
+
+		int bytesRead;
+		while ((bytesRead = stream.read(readBuffer)) != -1) {
+			outputStream.write(readBuffer, 0, bytesRead);
+		}
+
+		return new Dictionary(DictionaryImage.read(ByteBuffer.wrap(outputStream.toByteArray())));
+	}
+
+	public boolean contains(String word) {
+		BloomFilter filter = mWordFilter;
+		if (filter != null && !filter.mightContain(BloomFilter.hash(word))) {
+			return false;
+		}
+
+		int node = mDawg.find(word);
+		return node != Dawg.NONE && mDawg.isTerminal(node);
+	}
+
+	public boolean containsPrefix (String prefix) {
+		BloomFilter filter = mPrefixFilter;
+		if (filter != null && !filter.mightContain(BloomFilter.hash(prefix))) {
+			return false;
+		}
+
+		return mDawg.find(prefix) != Dawg.NONE;
+	}
+
+	/**
+	 * Builds Bloom filters of the words and of their prefixes, which
+	 * {@link #contains}, {@link #containsPrefix} and {@link #indexOf} check
+	 * before the exact lookup. Takes about 10 bits per word and prefix at a
+	 * 1% false positive rate.
+	 *
+	 * <p>The filters pay off where a miss costs more than a filter probe, as
+	 * in {@link #indexOf}. The DAWG rejects most misses within a few steps,
+	 * so they make little difference to {@link #contains} and
+	 * {@link #containsPrefix}, and grid searches do not use them.</p>
+	 *
+	 * @param falsePositiveRate - share of misses the filters let through,
+	 *                          between 0 and 1
+	 */
+	public void buildFilters(double falsePositiveRate) {
+		int prefixCount = 0;
+		byte[] previous = new byte[WordStore.MAX_WORD_LENGTH];
+		int previousLength = 0;
+		WordStore.Reader reader = mWords.reader(0);
+
+		// Words are sorted, so a prefix is new past the letters shared with the word before
+		while (reader.hasNext()) {
+			int length = reader.next();
+			byte[] word = reader.getLetters();
+			int shared = 0;
+
+			while (shared < length && shared < previousLength && word[shared] == previous[shared]) {
+				shared++;
+			}
+
+			prefixCount += length - shared;
+			System.arraycopy(word, 0, previous, 0, length);
+			previousLength = length;
+		}
+
+		BloomFilter words = new BloomFilter(mWords.size(), falsePositiveRate);
+		BloomFilter prefixes = new BloomFilter(prefixCount + 1, falsePositiveRate);
+		prefixes.add(BloomFilter.EMPTY);
+		reader = mWords.reader(0);
+
+		while (reader.hasNext()) {
+			int length = reader.next();
+			byte[] word = reader.getLetters();
+			long hash = BloomFilter.EMPTY;
+
+			for (int i = 0; i < length; i++) {
+				hash = BloomFilter.hash(hash, word[i] & 0xFF);
+				prefixes.add(hash);
+			}
+
+			words.add(hash);
+		}
+
+		mWordFilter = words;
+		mPrefixFilter = prefixes;
+
+		Logging.d("Dictionary", "Filters: " + (words.getSize() + prefixes.getSize()) + " bytes");
+	}
+
+	/**
+	 * Creates a cursor for walking this dictionary letter by letter.
+	 *
+	 * @return a new cursor positioned at the empty prefix
+	 */
+	public DictionaryCursor cursor() {
+		return new DictionaryCursor(mDawg);
+	}
+
+	/**
+	 * Gets the number of words in the dictionary. Words are numbered
+	 * (by their ordinal) from {@code 0} to {@code getWordCount() - 1}, in
+	 * alphabetical order.
+	 *
+	 * @return number of words
+	 */
+	public int getWordCount() {
+		return mWords.size();
+	}
+
+	/**
+	 * Gets a word by its ordinal.
+	 *
+	 * @param ordinal - ordinal of the word
+	 * @return the word
+	 */
+	public String getWord(int ordinal) {
+		if (ordinal < 0 || ordinal >= mWords.size()) {
+			throw new IndexOutOfBoundsException("Invalid word ordinal: " + ordinal);
+		}
+
+		return mWords.getWord(ordinal);
+	}
+
+	/**
+	 * Gets the length of a word by its ordinal.
+	 *
+	 * @param ordinal - ordinal of the word
+	 * @return number of letters in the word
+	 */
+	public int getWordLength(int ordinal) {
+		if (ordinal < 0 || ordinal >= mWords.size()) {
+			throw new IndexOutOfBoundsException("Invalid word ordinal: " + ordinal);
+		}
+
+		return mWords.getLength(ordinal);
+	}
+
+	/**
+	 * Gets the ordinal of a word.
+	 *
+	 * @param word - word to look for
+	 * @return the ordinal of the word or {@code -1} if it is not in the
+	 * dictionary
+	 */
+	public int indexOf(String word) {
+		BloomFilter filter = mWordFilter;
+		if (filter != null && !filter.mightContain(BloomFilter.hash(word))) {
+			return -1;
+		}
+
+		int ordinal = mWords.indexOf(word);
+		return ordinal >= 0 ? ordinal : -1;
+	}
+
+	/**
+	 * Picks out the words that can be made from the letters of a grid,
+	 * counting repeated letters, into a small dictionary of their own.
+	 * Searching a grid in its subset finds the same words as searching it
+	 * in the full dictionary, with ordinals mapped by
+	 * {@link #getParentOrdinals}. Worth it when a grid is searched many
+	 * times with the same letters; a single search is cheaper without.
+	 *
+	 * <p>The first call builds a letter mask for every word, 4 bytes per
+	 * word, which is kept with this dictionary.</p>
+	 *
+	 * @param grid - grid whose letters the words must be made of
+	 * @return the words made of the grid's letters
+	 */
+	public Dictionary subset(LetterGrid grid) {
+		int[] available = new int[Dawg.LETTER_COUNT];
+		int availableMask = 0;
+
+		for (char letter : grid.mLetters) {
+			int symbol = letter - 'A';
+
+			if (symbol >= 0 && symbol < Dawg.LETTER_COUNT) {
+				available[symbol]++;
+				availableMask |= 1 << symbol;
+			}
+		}
+
+		int[] letterMasks = getLetterMasks();
+		int[] counts = new int[Dawg.LETTER_COUNT];
+		int[] ordinals = new int[64];
+		int count = 0;
+		WordStore.Builder words = new WordStore.Builder();
+		byte[] word = new byte[WordStore.MAX_WORD_LENGTH];
+
+		for (int ordinal = 0; ordinal < letterMasks.length; ordinal++) {
+			// Most words need a letter the grid doesn't have at all
+			if ((letterMasks[ordinal] & ~availableMask) != 0) {
+				continue;
+			}
+
+			int length = mWords.copyWord(ordinal, word);
+			System.arraycopy(available, 0, counts, 0, counts.length);
+
+			boolean fits = true;
+			for (int i = 0; i < length && fits; i++) {
+				fits = --counts[word[i] - 'A'] >= 0;
+			}
+
+			if (fits) {
+				if (count == ordinals.length) {
+					ordinals = Arrays.copyOf(ordinals, count * 2);
+				}
+
+				ordinals[count++] = getParentOrdinal(ordinal);
+				words.append(word, 0, length);
+				words.endWord();
+			}
+		}
+
+		return new Dictionary(words.build(), Arrays.copyOf(ordinals, count));
+	}
+
+	/**
+	 * Maps ordinals of this dictionary to the dictionary it is a subset of.
+	 * Sorted ordinals stay sorted.
+	 *
+	 * @param ordinals - ordinals in this dictionary
+	 * @return ordinals in the full dictionary, a copy of {@code ordinals} if
+	 * this dictionary isn't a subset
+	 */
+	public int[] getParentOrdinals(int[] ordinals) {
+		int[] parent = new int[ordinals.length];
+
+		for (int i = 0; i < ordinals.length; i++) {
+			parent[i] = getParentOrdinal(ordinals[i]);
+		}
+
+		return parent;
+	}
+
+	private int getParentOrdinal(int ordinal) {
+		return mParentOrdinals != null ? mParentOrdinals[ordinal] : ordinal;
+	}
+
+	private synchronized int[] getLetterMasks() {
+		if (mLetterMasks == null) {
+			int[] masks = new int[mWords.size()];
+			WordStore.Reader reader = mWords.reader(0);
+
+			for (int ordinal = 0; ordinal < masks.length; ordinal++) {
+				byte[] word = reader.getLetters();
+
+				for (int i = reader.next() - 1; i >= 0; i--) {
+					masks[ordinal] |= 1 << (word[i] - 'A');
+				}
+			}
+
+			mLetterMasks = masks;
+		}
+
+		return mLetterMasks;
+	}
+
+	/**
+	 * Gets a cheap fingerprint of the word list. It differs between
+	 * dictionaries with different words, so data that refers to words by
+	 * ordinal can check that it belongs to this dictionary.
+	 *
+	 * @return the fingerprint, a non-negative number
+	 */
+	public int getFingerprint() {
+		int hash = mWords.size();
+		hash = hash * 31 + mWords.getDataLength();
+		hash = hash * 31 + mDawg.getNodeCount();
+
+		return hash & Integer.MAX_VALUE;
+	}
+
+	Dawg getDawg() {
+		return mDawg;
+	}
+
+	WordStore getWords() {
+		return mWords;
+	}
+}
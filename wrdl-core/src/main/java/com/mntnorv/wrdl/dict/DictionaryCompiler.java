@@ -0,0 +1,69 @@
+package com.mntnorv.wrdl.dict;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+
+/**
+ * Compiles a sorted, newline separated word list into a dictionary image
+ * that can be opened with {@link Dictionary#map}. Runs at build time, from
+ * the {@code compileDictionary} Gradle task, so it must not depend on any
+ * Android classes.
+ */
+public final class DictionaryCompiler {
+	private DictionaryCompiler() {
+	}
+
+	/**
+	 * Compiles a word list.
+	 *
+	 * @param input         - word list, one word per line
+	 * @param output        - image file to write
+	 * @param minWordLength - shorter words are left out
+	 */
+	public static void compile(File input, File output, int minWordLength) throws IOException {
+		WordStore.Builder words = new WordStore.Builder();
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(input), "US-ASCII"));
+
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+
+				if (line.length() >= minWordLength && line.length() > 0) {
+					byte[] word = line.getBytes("US-ASCII");
+					words.append(word, 0, word.length);
+					words.endWord();
+				}
+			}
+		} finally {
+			reader.close();
+		}
+
+		WordStore store = words.build();
+		DictionaryImage image = new DictionaryImage(DawgBuilder.build(store), store);
+		OutputStream stream = new BufferedOutputStream(new FileOutputStream(output));
+
+		try {
+			image.write(stream);
+		} finally {
+			stream.close();
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2 || args.length > 3) {
+			System.err.println("Usage: DictionaryCompiler <word list> <image> [min word length]");
+			System.exit(1);
+		}
+
+		int minWordLength = args.length == 3 ? Integer.parseInt(args[2]) : 1;
+		compile(new File(args[0]), new File(args[1]), minWordLength);
+	}
+}
@@ -0,0 +1,115 @@
+package com.mntnorv.wrdl.dict;
+
+import java.util.Arrays;
+
+/**
+ * A position in a {@link Dictionary}, for walking it one letter at a time.
+ *
+ * <p>The cursor holds a prefix that at least one dictionary word starts
+ * with. {@link #push} and {@link #pop} extend and retract it in constant
+ * time, without building Strings or searching from the root again. A cursor
+ * is not thread-safe, but any number of cursors can share a dictionary.</p>
+ */
+public class DictionaryCursor {
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final Dawg mDawg;
+	private int[] mNodes;
+	private int mLength;
+
+	DictionaryCursor(Dawg dawg) {
+		mDawg = dawg;
+		mNodes = new int[INITIAL_CAPACITY + 1];
+		mNodes[0] = Dawg.ROOT;
+		mLength = 0;
+	}
+
+	/**
+	 * Appends a letter to the current prefix.
+	 *
+	 * @param letter - the letter to append, 'A' to 'Z'
+	 * @return {@code true} if a dictionary word starts with the new prefix.
+	 * If {@code false}, the cursor is left unchanged.
+	 */
+	public boolean push(char letter) {
+		int node = mDawg.child(mNodes[mLength], letter);
+
+		if (node == Dawg.NONE) {
+			return false;
+		}
+
+		if (mLength + 1 == mNodes.length) {
+			mNodes = Arrays.copyOf(mNodes, mNodes.length * 2);
+		}
+
+		mNodes[++mLength] = node;
+		return true;
+	}
+
+	/**
+	 * Appends all letters of {@code letters} to the current prefix.
+	 *
+	 * @param letters - the letters to append
+	 * @return {@code true} if a dictionary word starts with the new prefix.
+	 * If {@code false}, the cursor is left unchanged.
+	 */
+	public boolean push(CharSequence letters) {
+		for (int i = 0; i < letters.length(); i++) {
+			if (!push(letters.charAt(i))) {
+				pop(i);
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Removes the last letter of the current prefix.
+	 */
+	public void pop() {
+		pop(1);
+	}
+
+	/**
+	 * Removes the last {@code count} letters of the current prefix.
+	 *
+	 * @param count - number of letters to remove
+	 */
+	public void pop(int count) {
+		if (count < 0 || count > mLength) {
+			throw new IllegalStateException("Can not pop " + count + " letters from a prefix of length " + mLength);
+		}
+
+		mLength -= count;
+	}
+
+	/**
+	 * Clears the current prefix.
+	 */
+	public void reset() {
+		mLength = 0;
+	}
+
+	/**
+	 * @return {@code true} if the current prefix is a dictionary word
+	 */
+	public boolean isWord() {
+		return mDawg.isTerminal(mNodes[mLength]);
+	}
+
+	/**
+	 * @return {@code true} if a longer dictionary word starts with the current
+	 * prefix
+	 */
+	public boolean hasChildren() {
+		return mDawg.hasChildren(mNodes[mLength]);
+	}
+
+	/**
+	 * @return length of the current prefix
+	 */
+	public int getLength() {
+		return mLength;
+	}
+}
@@ -0,0 +1,193 @@
+package com.mntnorv.wrdl.dict;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Binary dictionary image, a {@link Dawg} and a {@link WordStore}
+ * serialized so that they can be used in place without parsing.
+ *
+ * <pre>
+ * offset        size  contents
+ * 0             4     magic, "WRDL"
+ * 4             4     format version
+ * 8             4     word count (w)
+ * 12            4     node count (n)
+ * 16            4     CRC32 of everything after the header
+ * 20            4     word data size (d)
+ * 24            4*n   node masks
+ * 24+4n         4*n   first child indexes
+ * 24+8n         4*n   node reach
+ * 24+12n        4*b+4 word block offsets, b = ceil(w / 16)
+ * 28+12n+4b     d     front coded word data
+ * </pre>
+ *
+ * All values are little-endian ints.
+ */
+final class DictionaryImage {
+	static final int MAGIC = 0x4C445257;
+	static final int VERSION = 5;
+	static final int HEADER_SIZE = 24;
+
+	private static final int CHECKSUM_CHUNK_SIZE = 8192;
+
+	private final Dawg mDawg;
+	private final WordStore mWords;
+
+	DictionaryImage(Dawg dawg, WordStore words) {
+		if (dawg.getWordCount() != words.size()) {
+			throw new IllegalArgumentException("Graph and word list sizes differ");
+		}
+
+		mDawg = dawg;
+		mWords = words;
+	}
+
+	Dawg getDawg() {
+		return mDawg;
+	}
+
+	WordStore getWords() {
+		return mWords;
+	}
+
+	/**
+	 * Serializes the image.
+	 *
+	 * @param stream - destination, not closed
+	 */
+	void write(OutputStream stream) throws IOException {
+		int nodeCount = mDawg.getNodeCount();
+		int wordCount = mWords.size();
+		ByteBuffer data = mWords.getData();
+		IntBuffer blocks = mWords.getBlocks();
+
+		ByteBuffer buffer = ByteBuffer.allocate(
+				HEADER_SIZE + 12 * nodeCount + 4 * blocks.remaining() + data.remaining());
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(wordCount);
+		buffer.putInt(nodeCount);
+		buffer.putInt(0);
+		buffer.putInt(data.remaining());
+
+		for (int i = 0; i < nodeCount; i++) {
+			buffer.putInt(mDawg.getMask(i));
+		}
+
+		for (int i = 0; i < nodeCount; i++) {
+			buffer.putInt(mDawg.getFirstChild(i));
+		}
+
+		for (int i = 0; i < nodeCount; i++) {
+			buffer.putInt(mDawg.getReach(i));
+		}
+
+		while (blocks.hasRemaining()) {
+			buffer.putInt(blocks.get());
+		}
+
+		buffer.put(data);
+
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), HEADER_SIZE, buffer.capacity() - HEADER_SIZE);
+		buffer.putInt(16, (int) crc.getValue());
+
+		stream.write(buffer.array());
+	}
+
+	/**
+	 * Validates an image and wraps its contents. The graph and the word list
+	 * are views of {@code image}, nothing is copied.
+	 *
+	 * @param image - buffer holding the whole image
+	 * @return the image backed by {@code image}
+	 * @throws IOException if the image is malformed
+	 */
+	static DictionaryImage read(ByteBuffer image) throws IOException {
+		image.order(ByteOrder.LITTLE_ENDIAN);
+
+		if (image.remaining() < HEADER_SIZE) {
+			throw new IOException("Dictionary image is truncated");
+		}
+
+		int start = image.position();
+		if (image.getInt(start) != MAGIC) {
+			throw new IOException("Not a dictionary image");
+		}
+
+		int version = image.getInt(start + 4);
+		if (version != VERSION) {
+			throw new IOException("Unsupported dictionary image version: " + version);
+		}
+
+		int wordCount = image.getInt(start + 8);
+		int nodeCount = image.getInt(start + 12);
+		int checksum = image.getInt(start + 16);
+		int dataSize = image.getInt(start + 20);
+
+		int blockCount = WordStore.getBlockCount(wordCount);
+		long size = HEADER_SIZE + 12L * nodeCount + 4L * (blockCount + 1) + dataSize;
+		if (nodeCount <= 0 || wordCount < 0 || dataSize < 0 || image.remaining() != size) {
+			throw new IOException("Dictionary image size does not match its header");
+		}
+
+		if (checksum(image, start + HEADER_SIZE, (int) size - HEADER_SIZE) != checksum) {
+			throw new IOException("Dictionary image checksum mismatch");
+		}
+
+		int position = start + HEADER_SIZE;
+		IntBuffer masks = slice(image, position, 4 * nodeCount).asIntBuffer();
+		position += 4 * nodeCount;
+		IntBuffer children = slice(image, position, 4 * nodeCount).asIntBuffer();
+		position += 4 * nodeCount;
+		IntBuffer reach = slice(image, position, 4 * nodeCount).asIntBuffer();
+		position += 4 * nodeCount;
+		IntBuffer blocks = slice(image, position, 4 * (blockCount + 1)).asIntBuffer();
+		position += 4 * (blockCount + 1);
+		ByteBuffer data = slice(image, position, dataSize);
+
+		try {
+			return new DictionaryImage(
+					new Dawg(masks, children, reach, wordCount),
+					new WordStore(data, blocks, wordCount));
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Dictionary image is inconsistent: " + e.getMessage());
+		}
+	}
+
+	private static ByteBuffer slice(ByteBuffer image, int position, int length) {
+		ByteBuffer duplicate = image.duplicate();
+		duplicate.position(position);
+		duplicate.limit(position + length);
+
+		return duplicate.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static int checksum(ByteBuffer image, int position, int length) {
+		CRC32 crc = new CRC32();
+
+		if (image.hasArray()) {
+			crc.update(image.array(), image.arrayOffset() + position, length);
+		} else {
+			ByteBuffer duplicate = image.duplicate();
+			duplicate.position(position);
+			duplicate.limit(position + length);
+
+			byte[] chunk = new byte[CHECKSUM_CHUNK_SIZE];
+			while (duplicate.hasRemaining()) {
+				int chunkLength = Math.min(chunk.length, duplicate.remaining());
+				duplicate.get(chunk, 0, chunkLength);
+				crc.update(chunk, 0, chunkLength);
+			}
+		}
+
+		return (int) crc.getValue();
+	}
+}
@@ -0,0 +1,39 @@
+package com.mntnorv.wrdl.dict;
+
+/**
+ * A word found in a {@link LetterGrid}, with the tiles it was found on.
+ */
+public class FoundWord {
+	private final String mWord;
+	private final int mOrdinal;
+	private final int[] mPath;
+
+	public FoundWord(String word, int ordinal, int[] path) {
+		mWord = word;
+		mOrdinal = ordinal;
+		mPath = path.clone();
+	}
+
+	public String getWord() {
+		return mWord;
+	}
+
+	/**
+	 * @return dictionary ordinal of the word
+	 */
+	public int getOrdinal() {
+		return mOrdinal;
+	}
+
+	/**
+	 * @return indexes of the word's tiles, in order
+	 */
+	public int[] getPath() {
+		return mPath.clone();
+	}
+
+	@Override
+	public String toString() {
+		return mWord;
+	}
+}
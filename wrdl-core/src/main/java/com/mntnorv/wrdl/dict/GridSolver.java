@@ -0,0 +1,554 @@
+package com.mntnorv.wrdl.dict;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Depth-first word search over a {@link LetterGrid}.
+ *
+ * <p>All search state is primitive and preallocated: visited tiles are a
+ * {@code long} bitmask, the current word lives in a reusable char buffer
+ * and found words are collected as dictionary ordinals in an int array.
+ * A search step allocates nothing, and a solver can be reused for any
+ * number of grids, so solving boards back to back produces almost no
+ * garbage. A solver is not thread-safe.</p>
+ *
+ * <p>A search can be bounded by a node budget, a time limit or both. A
+ * bounded search that runs out returns the words found so far and
+ * {@link #isComplete()} is {@code false}; {@link #resume} then continues
+ * it from the exact path it stopped on, and the results are merged with
+ * {@link #merge}.</p>
+ */
+public class GridSolver {
+	/**
+	 * Receives words as a solver finds them.
+	 */
+	public interface WordListener {
+		/**
+		 * Called for every path a word is found on, so a word can be reported
+		 * more than once.
+		 *
+		 * @param ordinal    - dictionary ordinal of the word
+		 * @param path       - tile indexes of the word, in order. Only valid
+		 *                   during the call.
+		 * @param pathLength - number of tiles in {@code path}
+		 * @return {@code false} to stop the search
+		 */
+		public boolean onWordFound(int ordinal, int[] path, int pathLength);
+	}
+
+	private LetterGrid mGrid;
+	private Dawg mDawg;
+	private WordStore mWords;
+	private int mMaxWordLength;
+
+	private final WordBuffer mWord = new WordBuffer();
+	private int[] mFound = new int[256];
+	private int mFoundCount;
+
+	private int[] mPath = new int[LetterGrid.MAX_TILES];
+	private int mPathLength;
+
+	// Letters on the tiles not in the current word, as counts and a letter mask
+	private final int[] mLetterCounts = new int[Dawg.LETTER_COUNT];
+	private int mAvailable;
+
+	private WordListener mListener;
+	private boolean mStopped;
+
+	// Search limits, checked when the node count reaches mNextCheck
+	private static final int TIME_CHECK_INTERVAL = 1024;
+	private long mNodeBudget = Long.MAX_VALUE;
+	private long mTimeLimit = Long.MAX_VALUE;
+	private long mDeadline;
+	private long mNodes;
+	private long mNextCheck;
+	private boolean mOutOfBudget;
+
+	// Path a search ran out of budget on, and the tile its start tiles end before
+	private final int[] mResumePath = new int[LetterGrid.MAX_TILES];
+	private int mResumeLength;
+	private int mResumeEnd;
+	private boolean mReplaying;
+
+	// Set while only words through one tile are searched for
+	private int mRequiredTile = -1;
+	private long mRequiredMask = 0L;
+
+	/**
+	 * Sets a listener to be notified of every word as soon as it is found.
+	 *
+	 * @param listener - the listener, or {@code null} to remove it
+	 */
+	public void setWordListener(WordListener listener) {
+		mListener = listener;
+	}
+
+	/**
+	 * @return {@code true} if the last search was stopped by the listener
+	 * before it completed
+	 */
+	public boolean wasStopped() {
+		return mStopped && !mOutOfBudget;
+	}
+
+	/**
+	 * Limits the number of search steps of every following search.
+	 *
+	 * @param nodes - maximum number of tiles stepped on, or
+	 *              {@code Long.MAX_VALUE} for no limit
+	 */
+	public void setNodeBudget(long nodes) {
+		if (nodes < 1) {
+			throw new IllegalArgumentException("Node budget must be at least 1");
+		}
+
+		mNodeBudget = nodes;
+	}
+
+	/**
+	 * Limits the time of every following search. The clock is only read
+	 * every {@value #TIME_CHECK_INTERVAL} steps, so a search can run slightly
+	 * over.
+	 *
+	 * @param time - maximum search time, or {@code Long.MAX_VALUE} for no
+	 *             limit
+	 * @param unit - unit of {@code time}
+	 */
+	public void setTimeLimit(long time, TimeUnit unit) {
+		if (time < 0) {
+			throw new IllegalArgumentException("Time limit can't be negative");
+		}
+
+		mTimeLimit = time == Long.MAX_VALUE ? Long.MAX_VALUE : unit.toNanos(time);
+	}
+
+	/**
+	 * @return {@code true} if the last search covered the whole grid,
+	 * {@code false} if it ran out of budget or time or was stopped by the
+	 * listener
+	 */
+	public boolean isComplete() {
+		return !mStopped;
+	}
+
+	/**
+	 * @return {@code true} if the last search ran out of budget or time and
+	 * can be continued with {@link #resume}
+	 */
+	public boolean canResume() {
+		return mResumeLength > 0;
+	}
+
+	/**
+	 * Finds all words (from the given Dictionary) in a grid.
+	 *
+	 * @param grid - grid to search
+	 * @param dict - dictionary
+	 * @return sorted ordinals of the words found in the grid
+	 */
+	public int[] solve(LetterGrid grid, Dictionary dict) {
+		return solveFrom(grid, dict, 0);
+	}
+
+	/**
+	 * Finds the words (from the given Dictionary) that start on a tile or
+	 * any tile after it.
+	 *
+	 * @param grid      - grid to search
+	 * @param dict      - dictionary
+	 * @param firstTile - index of the first start tile to search from
+	 * @return sorted ordinals of the words found
+	 */
+	public int[] solveFrom(LetterGrid grid, Dictionary dict, int firstTile) {
+		if (firstTile < 0 || firstTile > grid.mTileCount) {
+			throw new IndexOutOfBoundsException("Invalid tile: " + firstTile);
+		}
+
+		begin(grid, dict);
+		return searchTiles(firstTile, grid.mTileCount);
+	}
+
+	/**
+	 * Continues the last search, which ran out of budget or time, from the
+	 * path it stopped on. Words found before aren't found again, except the
+	 * ones on paths the search hadn't finished.
+	 *
+	 * @param grid - grid of the last search, unchanged
+	 * @param dict - dictionary of the last search
+	 * @return sorted ordinals of the words found
+	 * @throws IllegalStateException if there is no search to resume
+	 */
+	public int[] resume(LetterGrid grid, Dictionary dict) {
+		if (mResumeLength == 0) {
+			throw new IllegalStateException("No search to resume");
+		}
+
+		begin(grid, dict);
+		mReplaying = true;
+
+		return searchTiles(mResumePath[0], mResumeEnd);
+	}
+
+	/**
+	 * Finds the words (from the given Dictionary) that start on one tile.
+	 *
+	 * @param grid      - grid to search
+	 * @param dict      - dictionary
+	 * @param startTile - index of the first tile of the words
+	 * @return sorted ordinals of the words found
+	 */
+	public int[] solve(LetterGrid grid, Dictionary dict, int startTile) {
+		if (startTile < 0 || startTile >= grid.mTileCount) {
+			throw new IndexOutOfBoundsException("Invalid tile: " + startTile);
+		}
+
+		begin(grid, dict);
+		return searchTiles(startTile, startTile + 1);
+	}
+
+	/**
+	 * Finds the words (from the given Dictionary) that have a path through
+	 * one tile. Only those paths are reported to the listener. Branches that
+	 * can no longer reach the tile within the maximum word length are cut,
+	 * so this is cheaper than a full solve.
+	 *
+	 * @param grid - grid to search
+	 * @param dict - dictionary
+	 * @param tile - index of the tile the words must pass through
+	 * @return sorted ordinals of the words found
+	 */
+	public int[] solveThrough(LetterGrid grid, Dictionary dict, int tile) {
+		if (tile < 0 || tile >= grid.mTileCount) {
+			throw new IndexOutOfBoundsException("Invalid tile: " + tile);
+		}
+
+		begin(grid, dict);
+		mRequiredTile = tile;
+		mRequiredMask = 1L << tile;
+
+		try {
+			for (int start = 0; start < grid.mTileCount && !mStopped; start++) {
+				if (grid.distance(start, tile) <= mMaxWordLength) {
+					search(start, Dawg.ROOT, 0L);
+				}
+			}
+		} finally {
+			mRequiredTile = -1;
+			mRequiredMask = 0L;
+
+			// The required tile isn't kept, so this search can't be resumed
+			mResumeLength = 0;
+		}
+
+		return finish();
+	}
+
+	/**
+	 * Searches from start tiles {@code first} to {@code end - 1}.
+	 */
+	private int[] searchTiles(int first, int end) {
+		mResumeEnd = end;
+
+		for (int tile = first; tile < end && !mStopped; tile++) {
+			search(tile, Dawg.ROOT, 0L);
+		}
+
+		// Otherwise the path was saved when the search ran out
+		if (!mOutOfBudget) {
+			mResumeLength = 0;
+		}
+
+		mReplaying = false;
+		return finish();
+	}
+
+	/**
+	 * Merges the results of a search and its resumption.
+	 *
+	 * @param first  - sorted word ordinals
+	 * @param second - sorted word ordinals
+	 * @return sorted ordinals of the words in either array
+	 */
+	public static int[] merge(int[] first, int[] second) {
+		int[] merged = new int[first.length + second.length];
+		int i = 0;
+		int j = 0;
+		int count = 0;
+
+		while (i < first.length || j < second.length) {
+			int next;
+			if (j == second.length || (i < first.length && first[i] <= second[j])) {
+				next = first[i++];
+			} else {
+				next = second[j++];
+			}
+
+			if (count == 0 || merged[count - 1] != next) {
+				merged[count++] = next;
+			}
+		}
+
+		return Arrays.copyOf(merged, count);
+	}
+
+	private void begin(LetterGrid grid, Dictionary dict) {
+		mGrid = grid;
+		mDawg = dict.getDawg();
+		mWords = dict.getWords();
+		mMaxWordLength = grid.getMaxWordLength();
+		mWord.ensureCapacity(grid.mLetters.length);
+		mWord.length = 0;
+		mFoundCount = 0;
+		mPathLength = 0;
+		mStopped = false;
+		mOutOfBudget = false;
+
+		Arrays.fill(mLetterCounts, 0);
+		mAvailable = 0;
+
+		for (char letter : grid.mLetters) {
+			int symbol = letter - 'A';
+
+			if (symbol >= 0 && symbol < Dawg.LETTER_COUNT) {
+				mLetterCounts[symbol]++;
+				mAvailable |= 1 << symbol;
+			}
+		}
+
+		mNodes = 0;
+		mDeadline = mTimeLimit == Long.MAX_VALUE ? 0 : System.nanoTime() + mTimeLimit;
+		mNextCheck = nextCheck();
+	}
+
+	/**
+	 * @return the node count at which the limits are checked next
+	 */
+	private long nextCheck() {
+		if (mTimeLimit == Long.MAX_VALUE) {
+			return mNodeBudget;
+		}
+
+		return Math.min(mNodeBudget, mNodes + TIME_CHECK_INTERVAL);
+	}
+
+	private void checkLimits() {
+		if (mNodes >= mNodeBudget || (mDeadline != 0 && System.nanoTime() - mDeadline >= 0)) {
+			mOutOfBudget = true;
+			mStopped = true;
+
+			System.arraycopy(mPath, 0, mResumePath, 0, mPathLength);
+			mResumeLength = mPathLength;
+		} else {
+			mNextCheck = nextCheck();
+		}
+	}
+
+	/**
+	 * Sorts the found ordinals, drops duplicates (words found through more
+	 * than one path) and releases the grid and the dictionary.
+	 */
+	private int[] finish() {
+		Arrays.sort(mFound, 0, mFoundCount);
+
+		int unique = 0;
+		for (int i = 0; i < mFoundCount; i++) {
+			if (unique == 0 || mFound[i] != mFound[unique - 1]) {
+				mFound[unique++] = mFound[i];
+			}
+		}
+
+		mGrid = null;
+		mDawg = null;
+		mWords = null;
+
+		return Arrays.copyOf(mFound, unique);
+	}
+
+	/**
+	 * Extends the current word with a tile and searches on from it.
+	 *
+	 * @param tile    - tile to step on
+	 * @param node    - dictionary node of the current word
+	 * @param visited - bitmask of the tiles in the current word
+	 */
+	private void search(int tile, int node, long visited) {
+		LetterGrid grid = mGrid;
+		Dawg dawg = mDawg;
+		WordBuffer word = mWord;
+		int wordLength = word.length;
+		int symbol = grid.mSymbols[tile];
+
+		if (symbol != TileAlphabet.NONE) {
+			// Letters and digraphs are a single step
+			node = dawg.step(node, symbol);
+
+			if (node == Dawg.NONE) {
+				return;
+			}
+
+			for (int i = grid.mLetterOffsets[tile]; i < grid.mLetterOffsets[tile + 1]; i++) {
+				word.chars[word.length++] = grid.mLetters[i];
+			}
+		} else {
+			for (int i = grid.mLetterOffsets[tile]; i < grid.mLetterOffsets[tile + 1]; i++) {
+				node = dawg.child(node, grid.mLetters[i]);
+
+				if (node == Dawg.NONE) {
+					word.length = wordLength;
+					return;
+				}
+
+				word.chars[word.length++] = grid.mLetters[i];
+			}
+		}
+
+		mPath[mPathLength++] = tile;
+		visited |= 1L << tile;
+		takeLetters(tile);
+
+		// A resumed search first walks back down the path it stopped on. The
+		// tiles on it were counted and their words found before.
+		boolean replayed = mReplaying;
+		int replayNext = -1;
+
+		if (replayed) {
+			if (mPathLength < mResumeLength) {
+				replayNext = mResumePath[mPathLength];
+			} else {
+				mReplaying = false;
+			}
+		} else if (++mNodes >= mNextCheck) {
+			checkLimits();
+		}
+
+		// With a required tile, only paths through it count
+		boolean mustReach = mRequiredMask != 0L && (visited & mRequiredMask) == 0L;
+
+		if (!replayed && dawg.isTerminal(node) && !mustReach) {
+			addFound(mWords.indexOf(word));
+		}
+
+		// Go on only if a letter left on the board can extend the word
+		int reach = dawg.getReach(node);
+
+		if (word.length <= mMaxWordLength && (reach & mAvailable) != 0) {
+			int first = tile * LetterGrid.MAX_NEIGHBOURS;
+			int last = first + grid.mNeighbourCounts[tile];
+			int maxSteps = mustReach ? getMaxSteps(word.length, reach) : 0;
+
+			for (int i = first; i < last && !mStopped; i++) {
+				int neighbour = grid.mNeighbours[i];
+
+				// Neighbours before the replayed one were searched already
+				if (replayNext >= 0) {
+					if (neighbour != replayNext) {
+						continue;
+					}
+
+					replayNext = -1;
+				}
+
+				if ((visited & (1L << neighbour)) != 0) {
+					continue;
+				}
+
+				// Every step adds a letter, so the required tile must be
+				// within the steps the length limit and the longest suffix leave
+				if (mustReach && grid.distance(neighbour, mRequiredTile) > maxSteps) {
+					continue;
+				}
+
+				search(neighbour, node, visited);
+			}
+		}
+
+		returnLetters(tile);
+		mPathLength--;
+		word.length = wordLength;
+	}
+
+	/**
+	 * Gets how many more steps a word can take after its next tile.
+	 *
+	 * @param wordLength - length of the word
+	 * @param reach      - reach of the word's dictionary node
+	 */
+	private int getMaxSteps(int wordLength, int reach) {
+		int depth = reach >>> Dawg.DEPTH_SHIFT;
+		int steps = mMaxWordLength - wordLength;
+
+		// A saturated depth only tells the suffix is at least that long
+		return depth < Dawg.MAX_DEPTH ? Math.min(steps, depth - 1) : steps;
+	}
+
+	private void takeLetters(int tile) {
+		LetterGrid grid = mGrid;
+
+		for (int i = grid.mLetterOffsets[tile]; i < grid.mLetterOffsets[tile + 1]; i++) {
+			int symbol = grid.mLetters[i] - 'A';
+
+			if (symbol >= 0 && symbol < Dawg.LETTER_COUNT && --mLetterCounts[symbol] == 0) {
+				mAvailable &= ~(1 << symbol);
+			}
+		}
+	}
+
+	private void returnLetters(int tile) {
+		LetterGrid grid = mGrid;
+
+		for (int i = grid.mLetterOffsets[tile]; i < grid.mLetterOffsets[tile + 1]; i++) {
+			int symbol = grid.mLetters[i] - 'A';
+
+			if (symbol >= 0 && symbol < Dawg.LETTER_COUNT && mLetterCounts[symbol]++ == 0) {
+				mAvailable |= 1 << symbol;
+			}
+		}
+	}
+
+	private void addFound(int ordinal) {
+		if (mFoundCount == mFound.length) {
+			mFound = Arrays.copyOf(mFound, mFound.length * 2);
+		}
+
+		mFound[mFoundCount++] = ordinal;
+
+		if (mListener != null && !mListener.onWordFound(ordinal, mPath, mPathLength)) {
+			mStopped = true;
+		}
+	}
+
+	/**
+	 * Reusable, mutable char sequence holding the current word.
+	 */
+	private static class WordBuffer implements CharSequence {
+		public char[] chars = new char[16];
+		public int length;
+
+		public void ensureCapacity(int capacity) {
+			if (chars.length < capacity) {
+				chars = new char[capacity];
+			}
+		}
+
+		@Override
+		public int length() {
+			return length;
+		}
+
+		@Override
+		public char charAt(int index) {
+			return chars[index];
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return new String(chars, start, end - start);
+		}
+
+		@Override
+		public String toString() {
+			return new String(chars, 0, length);
+		}
+	}
+}
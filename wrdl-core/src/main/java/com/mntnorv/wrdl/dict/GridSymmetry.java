@@ -0,0 +1,122 @@
+package com.mntnorv.wrdl.dict;
+
+/**
+ * Rotations and reflections of a grid. They keep neighbouring tiles
+ * neighbours, so a grid and its transformed copies hold the same words.
+ *
+ * <p>A transform is a permutation: {@code transform[i]} is the index tile
+ * {@code i} moves to. A square grid has eight transforms, the symmetries of
+ * the square; other grids have the four that keep their shape.</p>
+ */
+final class GridSymmetry {
+	private GridSymmetry() {
+	}
+
+	/**
+	 * Computes the transforms of a grid. The first one is the identity.
+	 *
+	 * @param columns - number of columns
+	 * @param rows    - number of rows
+	 * @return the transforms
+	 */
+	static int[][] getTransforms(int columns, int rows) {
+		int count = columns == rows ? 8 : 4;
+		int[][] transforms = new int[count][columns * rows];
+
+		for (int t = 0; t < count; t++) {
+			for (int i = 0; i < columns * rows; i++) {
+				int row = i / columns;
+				int col = i % columns;
+				int newRow;
+				int newCol;
+
+				switch (t) {
+					case 0:  newRow = row;            newCol = col;               break; // Identity
+					case 1:  newRow = rows - 1 - row; newCol = columns - 1 - col; break; // Rotate 180
+					case 2:  newRow = row;            newCol = columns - 1 - col; break; // Mirror left-right
+					case 3:  newRow = rows - 1 - row; newCol = col;               break; // Mirror top-bottom
+					case 4:  newRow = col;            newCol = row;               break; // Transpose
+					case 5:  newRow = col;            newCol = rows - 1 - row;    break; // Rotate 90
+					case 6:  newRow = columns - 1 - col; newCol = row;            break; // Rotate 270
+					default: newRow = columns - 1 - col; newCol = rows - 1 - row; break; // Anti-transpose
+				}
+
+				transforms[t][i] = newRow * columns + newCol;
+			}
+		}
+
+		return transforms;
+	}
+
+	/**
+	 * Applies a transform to tile letters.
+	 *
+	 * @param tiles     - tile letters
+	 * @param transform - transform
+	 * @return the moved tile letters
+	 */
+	static String[] apply(String[] tiles, int[] transform) {
+		String[] moved = new String[tiles.length];
+
+		for (int i = 0; i < tiles.length; i++) {
+			moved[transform[i]] = tiles[i];
+		}
+
+		return moved;
+	}
+
+	/**
+	 * Finds the transform giving the smallest tile array, comparing tiles in
+	 * order. Grids that are rotations or reflections of each other share
+	 * that smallest array, their canonical form.
+	 *
+	 * @param tiles      - tile letters
+	 * @param transforms - transforms of the grid
+	 * @return index of the transform to the canonical form
+	 */
+	static int findCanonical(String[] tiles, int[][] transforms) {
+		int[][] sources = new int[transforms.length][];
+		for (int t = 0; t < transforms.length; t++) {
+			sources[t] = invert(transforms[t]);
+		}
+
+		int best = 0;
+		for (int t = 1; t < transforms.length; t++) {
+			if (compare(tiles, sources[t], sources[best]) < 0) {
+				best = t;
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Compares two transformed tile arrays without building them, given the
+	 * inverses of the transforms.
+	 */
+	private static int compare(String[] tiles, int[] firstSource, int[] secondSource) {
+		for (int i = 0; i < tiles.length; i++) {
+			int diff = tiles[firstSource[i]].compareTo(tiles[secondSource[i]]);
+
+			if (diff != 0) {
+				return diff;
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * @param transform - transform
+	 * @return the transform undoing {@code transform}
+	 */
+	static int[] invert(int[] transform) {
+		int[] inverse = new int[transform.length];
+
+		for (int i = 0; i < transform.length; i++) {
+			inverse[transform[i]] = i;
+		}
+
+		return inverse;
+	}
+}
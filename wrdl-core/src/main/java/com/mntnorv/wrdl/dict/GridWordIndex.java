@@ -0,0 +1,186 @@
+package com.mntnorv.wrdl.dict;
+
+import java.util.Arrays;
+
+/**
+ * Every path of every word in a grid, indexed by the tiles they cross.
+ *
+ * <p>A path is stored as the bitmask of its tiles along with the ordinal
+ * of its word. When a tile of the grid is replaced only the paths through
+ * that tile are dropped, and only the words through it are searched for
+ * again; the rest of the grid keeps its words. Created by
+ * {@link LetterGrid#indexWords}. An index is not thread-safe.</p>
+ */
+public class GridWordIndex {
+	private final LetterGrid mGrid;
+	private final Dictionary mDictionary;
+	private final GridSolver mSolver = new GridSolver();
+	private int mMaxWordLength;
+
+	private long[] mPathMasks = new long[256];
+	private int[] mPathOrdinals = new int[256];
+	private int mPathCount;
+
+	// Paths through tile i are mTilePaths[mTileOffsets[i]] to mTilePaths[mTileOffsets[i + 1] - 1]
+	private final int[] mTileOffsets;
+	private int[] mTilePaths = new int[0];
+
+	private int[] mWordOrdinals = new int[0];
+
+	GridWordIndex(LetterGrid grid, Dictionary dict) {
+		mGrid = grid;
+		mDictionary = dict;
+		mTileOffsets = new int[grid.mTileCount + 1];
+
+		mSolver.setWordListener(new GridSolver.WordListener() {
+			@Override
+			public boolean onWordFound(int ordinal, int[] path, int pathLength) {
+				addPath(ordinal, path, pathLength);
+				return true;
+			}
+		});
+
+		rebuild();
+	}
+
+	/**
+	 * @return sorted dictionary ordinals of the words in the grid
+	 */
+	public int[] getWordOrdinals() {
+		return mWordOrdinals.clone();
+	}
+
+	public int getWordCount() {
+		return mWordOrdinals.length;
+	}
+
+	/**
+	 * @return the number of paths of all words in the grid
+	 */
+	public int getPathCount() {
+		return mPathCount;
+	}
+
+	/**
+	 * @param ordinal - dictionary ordinal of a word
+	 * @return {@code true} if the word is in the grid
+	 */
+	public boolean containsWord(int ordinal) {
+		return Arrays.binarySearch(mWordOrdinals, ordinal) >= 0;
+	}
+
+	/**
+	 * @param tile - tile index
+	 * @return sorted ordinals of the words with a path through the tile
+	 */
+	public int[] getWordsOnTile(int tile) {
+		int first = mTileOffsets[tile];
+		int[] ordinals = new int[mTileOffsets[tile + 1] - first];
+
+		for (int i = 0; i < ordinals.length; i++) {
+			ordinals[i] = mPathOrdinals[mTilePaths[first + i]];
+		}
+
+		return sortUnique(ordinals, ordinals.length);
+	}
+
+	/**
+	 * Drops the paths through a replaced tile and searches for the words
+	 * through its new letters.
+	 */
+	void tileReplaced(int tile) {
+		if (mGrid.getMaxWordLength() != mMaxWordLength) {
+			// Paths of the old length limit can't be patched
+			rebuild();
+			return;
+		}
+
+		long mask = 1L << tile;
+		int kept = 0;
+
+		for (int i = 0; i < mPathCount; i++) {
+			if ((mPathMasks[i] & mask) == 0) {
+				mPathMasks[kept] = mPathMasks[i];
+				mPathOrdinals[kept] = mPathOrdinals[i];
+				kept++;
+			}
+		}
+
+		mPathCount = kept;
+		mSolver.solveThrough(mGrid, mDictionary, tile);
+		updateIndex();
+	}
+
+	/**
+	 * Searches the whole grid again.
+	 */
+	private void rebuild() {
+		mMaxWordLength = mGrid.getMaxWordLength();
+		mPathCount = 0;
+		mSolver.solve(mGrid, mDictionary);
+		updateIndex();
+	}
+
+	private void addPath(int ordinal, int[] path, int pathLength) {
+		if (mPathCount == mPathMasks.length) {
+			mPathMasks = Arrays.copyOf(mPathMasks, mPathCount * 2);
+			mPathOrdinals = Arrays.copyOf(mPathOrdinals, mPathCount * 2);
+		}
+
+		long mask = 0L;
+		for (int i = 0; i < pathLength; i++) {
+			mask |= 1L << path[i];
+		}
+
+		mPathMasks[mPathCount] = mask;
+		mPathOrdinals[mPathCount] = ordinal;
+		mPathCount++;
+	}
+
+	/**
+	 * Rebuilds the tile to path index and the word list from the paths.
+	 */
+	private void updateIndex() {
+		int tileCount = mGrid.mTileCount;
+		Arrays.fill(mTileOffsets, 0);
+
+		// Count paths per tile, then turn the counts into offsets
+		int entries = 0;
+		for (int i = 0; i < mPathCount; i++) {
+			for (long mask = mPathMasks[i]; mask != 0; mask &= mask - 1) {
+				mTileOffsets[Long.numberOfTrailingZeros(mask) + 1]++;
+				entries++;
+			}
+		}
+
+		for (int tile = 0; tile < tileCount; tile++) {
+			mTileOffsets[tile + 1] += mTileOffsets[tile];
+		}
+
+		if (mTilePaths.length < entries) {
+			mTilePaths = new int[entries];
+		}
+
+		int[] next = Arrays.copyOf(mTileOffsets, tileCount);
+		for (int i = 0; i < mPathCount; i++) {
+			for (long mask = mPathMasks[i]; mask != 0; mask &= mask - 1) {
+				mTilePaths[next[Long.numberOfTrailingZeros(mask)]++] = i;
+			}
+		}
+
+		mWordOrdinals = sortUnique(Arrays.copyOf(mPathOrdinals, mPathCount), mPathCount);
+	}
+
+	private static int[] sortUnique(int[] values, int count) {
+		Arrays.sort(values, 0, count);
+
+		int unique = 0;
+		for (int i = 0; i < count; i++) {
+			if (unique == 0 || values[i] != values[unique - 1]) {
+				values[unique++] = values[i];
+			}
+		}
+
+		return Arrays.copyOf(values, unique);
+	}
+}
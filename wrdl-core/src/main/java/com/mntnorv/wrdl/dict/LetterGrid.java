@@ -0,0 +1,403 @@
+package com.mntnorv.wrdl.dict;
+
+import com.mntnorv.wrdl.log.Logging;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import rx.Observable;
+import rx.Observer;
+import rx.Scheduler;
+import rx.Subscription;
+import rx.subscriptions.BooleanSubscription;
+import rx.subscriptions.CompositeSubscription;
+import rx.util.functions.Action0;
+
+public class LetterGrid {
+	static final int MAX_TILES = 64;
+	static final int MAX_NEIGHBOURS = 8;
+
+	/**
+	 * Maximum word length for an exact search. The solver prunes on what the
+	 * dictionary can still reach, so this is about as fast as the default
+	 * limit of 8.
+	 */
+	public static final int NO_LENGTH_LIMIT = Integer.MAX_VALUE;
+
+	final int mColumns;
+	final int mRows;
+	final int mTileCount;
+
+	// Letters of tile i are mLetters[mLetterOffsets[i]] to mLetters[mLetterOffsets[i + 1] - 1]
+	char[] mLetters;
+	final int[] mLetterOffsets;
+
+	// TileAlphabet symbol of every tile, TileAlphabet.NONE if it has none
+	final int[] mSymbols;
+
+	// Neighbours of tile i are mNeighbours[i * MAX_NEIGHBOURS] onwards, mNeighbourCounts[i] of them
+	final int[] mNeighbours;
+	final int[] mNeighbourCounts;
+
+	private String[] mTiles;
+	private int mMaxWordLength;
+	private GridWordIndex mWordIndex;
+
+	/**
+	 * Create a new LetterGrid.
+	 *
+	 * @param letters - letter array. Length must be equal to
+	 *                {@code columns*rows}.
+	 * @param columns - number of columns in the grid.
+	 * @param rows    - number of rows in the grid.
+	 */
+	public LetterGrid(String[] letters, int columns, int rows) {
+		if (letters.length != columns * rows) {
+			throw new IllegalArgumentException("Size of letters array must be columns*rows");
+		}
+
+		if (letters.length > MAX_TILES) {
+			throw new IllegalArgumentException("A grid can have at most " + MAX_TILES + " tiles");
+		}
+
+		mColumns = columns;
+		mRows = rows;
+		mTileCount = columns * rows;
+		mMaxWordLength = 8;
+
+		// Tile letters
+		mTiles = new String[mTileCount];
+		mLetterOffsets = new int[mTileCount + 1];
+		mSymbols = new int[mTileCount];
+
+		for (int i = 0; i < mTileCount; i++) {
+			mTiles[i] = letters[i].toUpperCase(Locale.US);
+		}
+
+		updateLetters();
+
+		// Neighbour tables
+		mNeighbours = new int[mTileCount * MAX_NEIGHBOURS];
+		mNeighbourCounts = new int[mTileCount];
+
+		int[] directions = {
+				-columns,     // UP
+				 columns,     // DOWN
+				-1,           // LEFT
+				 1,           // RIGHT
+				-columns - 1, // UP LEFT
+				-columns + 1, // UP RIGHT
+				 columns - 1, // DOWN LEFT
+				 columns + 1  // DOWN RIGHT
+		};
+
+		for (int i = 0; i < mTileCount; i++) {
+			for (int j = 0; j < 8; j++) {
+				int row = i / columns;
+				int col = i % columns;
+
+				// If on the left side, do not wrap to the right
+				if (col == 0 && (j == 2 || j == 4 || j == 6)) {
+					continue;
+				}
+
+				// If on the right side, do not wrap to the left
+				if (col == (columns - 1) && (j == 3 || j == 5 || j == 7)) {
+					continue;
+				}
+
+				// If on the top, do not wrap to the bottom
+				if (row == 0 && (j == 0 || j == 4 || j == 5)) {
+					continue;
+				}
+
+				// If on the bottom, do not wrap to the top
+				if (row == (rows - 1) && (j == 1 || j == 6 || j == 7)) {
+					continue;
+				}
+
+				mNeighbours[i * MAX_NEIGHBOURS + mNeighbourCounts[i]] = i + directions[j];
+				mNeighbourCounts[i]++;
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds the letter and symbol tables from the tile strings.
+	 */
+	private void updateLetters() {
+		int letterCount = 0;
+		for (int i = 0; i < mTileCount; i++) {
+			mLetterOffsets[i] = letterCount;
+			mSymbols[i] = TileAlphabet.getSymbol(mTiles[i]);
+			letterCount += mTiles[i].length();
+		}
+
+		mLetterOffsets[mTileCount] = letterCount;
+		mLetters = new char[letterCount];
+
+		for (int i = 0; i < mTileCount; i++) {
+			mTiles[i].getChars(0, mTiles[i].length(), mLetters, mLetterOffsets[i]);
+		}
+	}
+
+	/**
+	 * Replaces the letters of a tile. If the grid's words are indexed (see
+	 * {@link #indexWords}), the index is updated by searching again only for
+	 * the words through this tile.
+	 *
+	 * <p>A grid must not be changed while it is being searched.</p>
+	 *
+	 * @param index  - tile index, {@code row * columns + column}
+	 * @param letter - new letters of the tile
+	 */
+	public void replaceTile(int index, String letter) {
+		if (index < 0 || index >= mTileCount) {
+			throw new IndexOutOfBoundsException("Invalid tile: " + index);
+		}
+
+		mTiles[index] = letter.toUpperCase(Locale.US);
+		updateLetters();
+
+		if (mWordIndex != null) {
+			mWordIndex.tileReplaced(index);
+		}
+	}
+
+	/**
+	 * Solves the grid, recording every path of every word, and keeps the
+	 * result up to date as tiles are replaced.
+	 *
+	 * @param dict - dictionary
+	 * @return the index of the words in the grid
+	 */
+	public GridWordIndex indexWords(Dictionary dict) {
+		mWordIndex = new GridWordIndex(this, dict);
+		return mWordIndex;
+	}
+
+	/**
+	 * Gets the number of king moves between two tiles.
+	 */
+	int distance(int first, int second) {
+		int rows = Math.abs(first / mColumns - second / mColumns);
+		int columns = Math.abs(first % mColumns - second % mColumns);
+
+		return Math.max(rows, columns);
+	}
+
+	/**
+	 * Finds all words (from the given Dictionary) in the grid.
+	 *
+	 * @param dict - dictionary
+	 * @return a list of words found in the grid
+	 */
+	public Set<String> getWordsInGrid(Dictionary dict) {
+		int[] ordinals = findWordOrdinals(dict);
+		Set<String> words = new HashSet<String>(ordinals.length * 2);
+
+		for (int ordinal : ordinals) {
+			words.add(dict.getWord(ordinal));
+		}
+
+		Logging.d("LetterGrid", Integer.toString(words.size()));
+
+		return words;
+	}
+
+	/**
+	 * Finds all words (from the given Dictionary) in the grid.
+	 *
+	 * @param dict - dictionary
+	 * @return sorted ordinals of the words found in the grid
+	 */
+	public int[] findWordOrdinals(Dictionary dict) {
+		return new GridSolver().solve(this, dict);
+	}
+
+	/**
+	 * Finds all words (from the given Dictionary) in the grid along with the
+	 * tile paths they can be traced on.
+	 *
+	 * @param dict     - dictionary
+	 * @param allPaths - {@code true} to record every path of every word,
+	 *                 {@code false} to record one path per word
+	 * @return the words and their paths
+	 */
+	public WordPaths findWordPaths(Dictionary dict, boolean allPaths) {
+		return WordPaths.record(this, dict, new GridSolver(), allPaths);
+	}
+
+	/**
+	 * Streams the words (from the given Dictionary) in the grid as the search
+	 * finds them. Every word is emitted once, with the first path it was found
+	 * on. The search runs on {@code scheduler} and stops as soon as the
+	 * subscription is unsubscribed.
+	 *
+	 * @param dict      - dictionary
+	 * @param scheduler - scheduler to run the search on
+	 * @return an Observable of the words found in the grid
+	 */
+	public Observable<FoundWord> observeWords(final Dictionary dict, final Scheduler scheduler) {
+		return Observable.create(new Observable.OnSubscribeFunc<FoundWord>() {
+			@Override
+			public Subscription onSubscribe(final Observer<? super FoundWord> observer) {
+				final BooleanSubscription cancelled = new BooleanSubscription();
+
+				Subscription scheduled = scheduler.schedule(new Action0() {
+					@Override
+					public void call() {
+						final BitSet emitted = new BitSet(dict.getWordCount());
+						GridSolver solver = new GridSolver();
+
+						solver.setWordListener(new GridSolver.WordListener() {
+							@Override
+							public boolean onWordFound(int ordinal, int[] path, int pathLength) {
+								if (cancelled.isUnsubscribed()) {
+									return false;
+								}
+
+								if (!emitted.get(ordinal)) {
+									emitted.set(ordinal);
+									observer.onNext(new FoundWord(dict.getWord(ordinal), ordinal,
+											Arrays.copyOf(path, pathLength)));
+								}
+
+								return true;
+							}
+						});
+
+						try {
+							solver.solve(LetterGrid.this, dict);
+						} catch (RuntimeException e) {
+							if (!cancelled.isUnsubscribed()) {
+								observer.onError(e);
+							}
+							return;
+						}
+
+						if (!cancelled.isUnsubscribed()) {
+							observer.onCompleted();
+						}
+					}
+				});
+
+				return new CompositeSubscription(cancelled, scheduled);
+			}
+		});
+	}
+
+	/**
+	 * Finds all words (from the given Dictionary) in the grid in time slices.
+	 * The ordinals of the words found so far are emitted after every slice,
+	 * the first of them within {@code timeLimit}, and the search continues
+	 * until the last emission holds all words. The search runs on
+	 * {@code scheduler} and stops as soon as the subscription is
+	 * unsubscribed.
+	 *
+	 * @param dict      - dictionary
+	 * @param timeLimit - length of a time slice
+	 * @param unit      - unit of {@code timeLimit}
+	 * @param scheduler - scheduler to run the search on
+	 * @return an Observable of sorted word ordinals, each emission a superset
+	 * of the one before
+	 */
+	public Observable<int[]> observeWordOrdinals(final Dictionary dict, final long timeLimit,
+												 final TimeUnit unit, final Scheduler scheduler) {
+		return Observable.create(new Observable.OnSubscribeFunc<int[]>() {
+			@Override
+			public Subscription onSubscribe(final Observer<? super int[]> observer) {
+				final BooleanSubscription cancelled = new BooleanSubscription();
+
+				Subscription scheduled = scheduler.schedule(new Action0() {
+					@Override
+					public void call() {
+						GridSolver solver = new GridSolver();
+						solver.setTimeLimit(timeLimit, unit);
+
+						try {
+							int[] ordinals = solver.solve(LetterGrid.this, dict);
+
+							while (true) {
+								if (cancelled.isUnsubscribed()) {
+									return;
+								}
+
+								observer.onNext(ordinals);
+
+								if (!solver.canResume()) {
+									break;
+								}
+
+								ordinals = GridSolver.merge(ordinals, solver.resume(LetterGrid.this, dict));
+							}
+						} catch (RuntimeException e) {
+							if (!cancelled.isUnsubscribed()) {
+								observer.onError(e);
+							}
+							return;
+						}
+
+						if (!cancelled.isUnsubscribed()) {
+							observer.onCompleted();
+						}
+					}
+				});
+
+				return new CompositeSubscription(cancelled, scheduled);
+			}
+		});
+	}
+
+	/**
+	 * Gets number of words (from the given Dictionary) in the grid
+	 *
+	 * @param dict - dictionary
+	 * @return number of words found
+	 */
+	public int getWordCountInGrid(Dictionary dict) {
+		return findWordOrdinals(dict).length;
+	}
+
+	/**
+	 * Set maximum length of word to search for. Words one tile longer can
+	 * still be found, as a word is only extended while it is within the
+	 * limit.
+	 *
+	 * @param maxWordLength - maximum length, or {@link #NO_LENGTH_LIMIT} to
+	 *                      find every word
+	 */
+	public void setMaxWordLength(int maxWordLength) {
+		this.mMaxWordLength = maxWordLength;
+	}
+
+	public int getMaxWordLength() {
+		return mMaxWordLength;
+	}
+
+	public int getColumns() {
+		return mColumns;
+	}
+
+	public int getRows() {
+		return mRows;
+	}
+
+	public int getTileCount() {
+		return mTileCount;
+	}
+
+	/**
+	 * Gets the letters of a tile, in upper case.
+	 *
+	 * @param index - tile index, {@code row * columns + column}
+	 * @return the tile's letters
+	 */
+	public String getTile(int index) {
+		return mTiles[index];
+	}
+}
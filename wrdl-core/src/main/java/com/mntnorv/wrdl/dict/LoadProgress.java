@@ -0,0 +1,42 @@
+package com.mntnorv.wrdl.dict;
+
+/**
+ * Progress of loading a word list, see {@link Dictionary#observeLoad}.
+ */
+public class LoadProgress {
+	private final long mBytesRead;
+	private final int mWordCount;
+	private final Dictionary mDictionary;
+
+	public LoadProgress(long bytesRead, int wordCount, Dictionary dictionary) {
+		mBytesRead = bytesRead;
+		mWordCount = wordCount;
+		mDictionary = dictionary;
+	}
+
+	/**
+	 * @return bytes read from the stream so far, before decompression
+	 */
+	public long getBytesRead() {
+		return mBytesRead;
+	}
+
+	/**
+	 * @return number of words read so far
+	 */
+	public int getWordCount() {
+		return mWordCount;
+	}
+
+	/**
+	 * @return the loaded dictionary, or {@code null} if loading has not
+	 * finished yet
+	 */
+	public Dictionary getDictionary() {
+		return mDictionary;
+	}
+
+	public boolean isComplete() {
+		return mDictionary != null;
+	}
+}
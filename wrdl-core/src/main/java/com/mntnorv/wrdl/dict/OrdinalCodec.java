@@ -0,0 +1,131 @@
+package com.mntnorv.wrdl.dict;
+
+import java.util.Arrays;
+
+/**
+ * Compact encoding of sorted dictionary ordinal arrays, used to store the
+ * words of a grid with a game.
+ *
+ * <p>The encoding is a sequence of unsigned varints (7 bits per byte, low
+ * bits first, high bit set on all but the last byte): the fingerprint of the
+ * dictionary the ordinals belong to, the number of ordinals, the first
+ * ordinal and then the difference of every ordinal from the one before it.
+ * A typical 4x4 board takes two bytes or less per word.</p>
+ */
+public final class OrdinalCodec {
+	private OrdinalCodec() {
+	}
+
+	/**
+	 * Encodes ordinals.
+	 *
+	 * @param ordinals - ordinals in ascending order, without duplicates
+	 * @param dict     - dictionary the ordinals belong to
+	 * @return the encoded ordinals
+	 */
+	public static byte[] encode(int[] ordinals, Dictionary dict) {
+		byte[] data = new byte[5 * (ordinals.length + 2)];
+		int position = 0;
+
+		position = writeVarint(data, position, dict.getFingerprint());
+		position = writeVarint(data, position, ordinals.length);
+
+		int previous = 0;
+		for (int ordinal : ordinals) {
+			if (ordinal < previous) {
+				throw new IllegalArgumentException("Ordinals must be sorted");
+			}
+
+			position = writeVarint(data, position, ordinal - previous);
+			previous = ordinal;
+		}
+
+		return Arrays.copyOf(data, position);
+	}
+
+	/**
+	 * Decodes ordinals.
+	 *
+	 * @param data - encoded ordinals
+	 * @param dict - dictionary the ordinals are expected to belong to
+	 * @return the decoded ordinals, or {@code null} if {@code data} is
+	 * malformed or was encoded for a different dictionary
+	 */
+	public static int[] decode(byte[] data, Dictionary dict) {
+		Reader reader = new Reader(data);
+
+		if (reader.next() != dict.getFingerprint()) {
+			return null;
+		}
+
+		int count = reader.next();
+		if (count < 0 || count > dict.getWordCount()) {
+			return null;
+		}
+
+		int[] ordinals = new int[count];
+		int previous = 0;
+
+		for (int i = 0; i < count; i++) {
+			int delta = reader.next();
+			previous += delta;
+
+			if (delta < 0 || previous >= dict.getWordCount()) {
+				return null;
+			}
+
+			ordinals[i] = previous;
+		}
+
+		return reader.isAtEnd() ? ordinals : null;
+	}
+
+	private static int writeVarint(byte[] data, int position, int value) {
+		while ((value & ~0x7F) != 0) {
+			data[position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+
+		data[position++] = (byte) value;
+		return position;
+	}
+
+	/**
+	 * Reads varints, returning {@code -1} once the data is exhausted or
+	 * malformed.
+	 */
+	private static class Reader {
+		private final byte[] mData;
+		private int mPosition = 0;
+		private boolean mFailed = false;
+
+		public Reader(byte[] data) {
+			mData = data;
+		}
+
+		public int next() {
+			int value = 0;
+
+			for (int shift = 0; shift < 32; shift += 7) {
+				if (mFailed || mPosition >= mData.length) {
+					mFailed = true;
+					return -1;
+				}
+
+				byte b = mData[mPosition++];
+				value |= (b & 0x7F) << shift;
+
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+
+			mFailed = true;
+			return -1;
+		}
+
+		public boolean isAtEnd() {
+			return !mFailed && mPosition == mData.length;
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.mntnorv.wrdl.dict;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Solves a {@link LetterGrid} on several threads.
+ *
+ * <p>Every starting tile is searched by its own task, with its own
+ * {@link GridSolver} and visited state. The tasks share the grid and the
+ * dictionary, which are only read, and their results are merged into the
+ * same sorted ordinal array the sequential solver returns.</p>
+ */
+public class ParallelGridSolver {
+	private static ExecutorService sDefaultExecutor;
+
+	private final ExecutorService mExecutor;
+	private final ThreadLocal<GridSolver> mSolvers = new ThreadLocal<GridSolver>() {
+		@Override
+		protected GridSolver initialValue() {
+			return new GridSolver();
+		}
+	};
+
+	/**
+	 * Creates a solver running on a shared pool with one thread per
+	 * available processor.
+	 */
+	public ParallelGridSolver() {
+		this(getDefaultExecutor());
+	}
+
+	/**
+	 * Creates a solver running on the given executor.
+	 *
+	 * @param executor - executor to run the per-tile tasks on
+	 */
+	public ParallelGridSolver(ExecutorService executor) {
+		mExecutor = executor;
+	}
+
+	/**
+	 * Finds all words (from the given Dictionary) in a grid.
+	 *
+	 * @param grid - grid to search
+	 * @param dict - dictionary
+	 * @return sorted ordinals of the words found in the grid
+	 * @throws InterruptedException if interrupted while waiting for the
+	 * tasks. Tasks that did not start yet are cancelled.
+	 */
+	public int[] solve(final LetterGrid grid, final Dictionary dict) throws InterruptedException {
+		int tileCount = grid.getTileCount();
+		List<Future<int[]>> futures = new ArrayList<Future<int[]>>(tileCount);
+
+		for (int tile = 0; tile < tileCount; tile++) {
+			final int startTile = tile;
+
+			futures.add(mExecutor.submit(new Callable<int[]>() {
+				@Override
+				public int[] call() {
+					return mSolvers.get().solve(grid, dict, startTile);
+				}
+			}));
+		}
+
+		List<int[]> results = new ArrayList<int[]>(tileCount);
+		int total = 0;
+
+		try {
+			for (Future<int[]> future : futures) {
+				int[] result = future.get();
+				results.add(result);
+				total += result.length;
+			}
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Grid solver task failed", e.getCause());
+		} finally {
+			for (Future<int[]> future : futures) {
+				future.cancel(false);
+			}
+		}
+
+		return merge(results, total);
+	}
+
+	/**
+	 * Merges sorted ordinal arrays into one sorted array without duplicates.
+	 */
+	private static int[] merge(List<int[]> results, int total) {
+		int[] merged = new int[total];
+		int position = 0;
+
+		for (int[] result : results) {
+			System.arraycopy(result, 0, merged, position, result.length);
+			position += result.length;
+		}
+
+		Arrays.sort(merged);
+
+		int unique = 0;
+		for (int i = 0; i < merged.length; i++) {
+			if (unique == 0 || merged[i] != merged[unique - 1]) {
+				merged[unique++] = merged[i];
+			}
+		}
+
+		return Arrays.copyOf(merged, unique);
+	}
+
+	static synchronized ExecutorService getDefaultExecutor() {
+		if (sDefaultExecutor == null) {
+			sDefaultExecutor = Executors.newFixedThreadPool(
+					Runtime.getRuntime().availableProcessors(),
+					new ThreadFactory() {
+						private int mCount = 0;
+
+						@Override
+						public synchronized Thread newThread(Runnable runnable) {
+							Thread thread = new Thread(runnable, "GridSolver-" + mCount++);
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+		}
+
+		return sDefaultExecutor;
+	}
+}
@@ -0,0 +1,39 @@
+package com.mntnorv.wrdl.dict;
+
+/**
+ * Word scores, following the Boggle table: words of three and four letters
+ * score 1, five letters 2, six letters 3, seven letters 5 and longer words
+ * 11. A "Qu" tile counts as two letters.
+ */
+public final class Scoring {
+	private static final int[] SCORES = {0, 0, 0, 1, 1, 2, 3, 5};
+	private static final int LONG_WORD_SCORE = 11;
+
+	private Scoring() {
+	}
+
+	/**
+	 * @param length - number of letters in a word
+	 * @return the score of the word
+	 */
+	public static int getWordScore(int length) {
+		return length < SCORES.length ? SCORES[length] : LONG_WORD_SCORE;
+	}
+
+	/**
+	 * Sums the scores of words.
+	 *
+	 * @param dict     - dictionary
+	 * @param ordinals - ordinals of the words
+	 * @return total score
+	 */
+	public static int getScore(Dictionary dict, int[] ordinals) {
+		int score = 0;
+
+		for (int ordinal : ordinals) {
+			score += getWordScore(dict.getWordLength(ordinal));
+		}
+
+		return score;
+	}
+}
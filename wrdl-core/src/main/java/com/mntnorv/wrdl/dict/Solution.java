@@ -0,0 +1,134 @@
+package com.mntnorv.wrdl.dict;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The words in a grid, each with one path it can be traced on.
+ *
+ * <p>Paths are stored back to back in one byte array, word {@code i}
+ * taking the tiles from {@code mPathOffsets[i]} up to
+ * {@code mPathOffsets[i + 1]}.</p>
+ */
+public class Solution {
+	private final int[] mWordOrdinals;
+	private final int[] mPathOffsets;
+	private final byte[] mPathTiles;
+
+	Solution(int[] wordOrdinals, int[] pathOffsets, byte[] pathTiles) {
+		mWordOrdinals = wordOrdinals;
+		mPathOffsets = pathOffsets;
+		mPathTiles = pathTiles;
+	}
+
+	/**
+	 * @return sorted dictionary ordinals of the words in the grid
+	 */
+	public int[] getWordOrdinals() {
+		return mWordOrdinals.clone();
+	}
+
+	public int getWordCount() {
+		return mWordOrdinals.length;
+	}
+
+	/**
+	 * @param index - index of the word, {@code 0} to {@code getWordCount() - 1}
+	 * @return dictionary ordinal of the word
+	 */
+	public int getWordOrdinal(int index) {
+		return mWordOrdinals[index];
+	}
+
+	/**
+	 * @param ordinal - dictionary ordinal of a word
+	 * @return index of the word, or a negative number if it is not in the
+	 * grid
+	 */
+	public int indexOf(int ordinal) {
+		return Arrays.binarySearch(mWordOrdinals, ordinal);
+	}
+
+	/**
+	 * @param index - index of the word, {@code 0} to {@code getWordCount() - 1}
+	 * @return tile indexes of a path the word can be traced on
+	 */
+	public int[] getPath(int index) {
+		int start = mPathOffsets[index];
+		int[] path = new int[mPathOffsets[index + 1] - start];
+
+		for (int i = 0; i < path.length; i++) {
+			path[i] = mPathTiles[start + i];
+		}
+
+		return path;
+	}
+
+	/**
+	 * Moves the paths through a grid transform.
+	 *
+	 * @param transform - new index of every tile
+	 * @return the solution of the transformed grid
+	 */
+	Solution transform(int[] transform) {
+		byte[] pathTiles = new byte[mPathTiles.length];
+
+		for (int i = 0; i < pathTiles.length; i++) {
+			pathTiles[i] = (byte) transform[mPathTiles[i]];
+		}
+
+		return new Solution(mWordOrdinals, mPathOffsets, pathTiles);
+	}
+
+	/**
+	 * Solves a grid, keeping the first path found for every word.
+	 *
+	 * @param grid   - grid to solve
+	 * @param dict   - dictionary
+	 * @param solver - solver to use, its word listener is replaced
+	 * @return the solution
+	 */
+	static Solution solve(LetterGrid grid, Dictionary dict, GridSolver solver) {
+		final Map<Integer, int[]> paths = new HashMap<Integer, int[]>();
+
+		solver.setWordListener(new GridSolver.WordListener() {
+			@Override
+			public boolean onWordFound(int ordinal, int[] path, int pathLength) {
+				if (!paths.containsKey(ordinal)) {
+					paths.put(ordinal, Arrays.copyOf(path, pathLength));
+				}
+
+				return true;
+			}
+		});
+
+		int[] ordinals;
+		try {
+			ordinals = solver.solve(grid, dict);
+		} finally {
+			solver.setWordListener(null);
+		}
+
+		int[] pathOffsets = new int[ordinals.length + 1];
+		int tileCount = 0;
+
+		for (int i = 0; i < ordinals.length; i++) {
+			pathOffsets[i] = tileCount;
+			tileCount += paths.get(ordinals[i]).length;
+		}
+
+		pathOffsets[ordinals.length] = tileCount;
+		byte[] pathTiles = new byte[tileCount];
+
+		for (int i = 0; i < ordinals.length; i++) {
+			int[] path = paths.get(ordinals[i]);
+
+			for (int j = 0; j < path.length; j++) {
+				pathTiles[pathOffsets[i] + j] = (byte) path[j];
+			}
+		}
+
+		return new Solution(ordinals, pathOffsets, pathTiles);
+	}
+}
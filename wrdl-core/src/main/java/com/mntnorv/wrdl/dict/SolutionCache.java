@@ -0,0 +1,140 @@
+package com.mntnorv.wrdl.dict;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches grid solutions for one dictionary.
+ *
+ * <p>Grids are keyed by their canonical form, the smallest of the tile
+ * arrays of their rotations and reflections, so
+ * a grid and its seven turned or flipped copies share one entry. Entries
+ * hold word ordinals and one path per word in canonical tile indexes; on a
+ * hit the paths are moved back onto the grid that was asked for. The
+ * least recently used entry is evicted once the cache is full. A cache is
+ * thread-safe and solves one grid at a time.</p>
+ */
+public class SolutionCache {
+	private final Dictionary mDictionary;
+	private final GridSolver mSolver = new GridSolver();
+	private final Map<String, int[][]> mTransforms = new HashMap<String, int[][]>();
+	private final LinkedHashMap<String, Solution> mEntries;
+
+	private int mHits = 0;
+	private int mMisses = 0;
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param dict       - dictionary grids are solved with
+	 * @param maxEntries - maximum number of cached solutions
+	 */
+	public SolutionCache(Dictionary dict, final int maxEntries) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("Cache size must be at least 1");
+		}
+
+		mDictionary = dict;
+		mEntries = new LinkedHashMap<String, Solution>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Solution> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Gets the solution of a grid, from the cache if the grid or one of its
+	 * rotations or reflections was solved before.
+	 *
+	 * @param grid - grid to solve
+	 * @return the solution, with paths on {@code grid}
+	 */
+	public synchronized Solution solve(LetterGrid grid) {
+		int[][] transforms = getTransforms(grid.getColumns(), grid.getRows());
+		String[] tiles = new String[grid.getTileCount()];
+
+		for (int i = 0; i < tiles.length; i++) {
+			tiles[i] = grid.getTile(i);
+		}
+
+		int[] toCanonical = transforms[GridSymmetry.findCanonical(tiles, transforms)];
+		String key = getKey(grid, GridSymmetry.apply(tiles, toCanonical));
+		Solution canonical = mEntries.get(key);
+
+		if (canonical != null) {
+			mHits++;
+			return canonical.transform(GridSymmetry.invert(toCanonical));
+		}
+
+		mMisses++;
+
+		Solution solution = Solution.solve(grid, mDictionary, mSolver);
+		mEntries.put(key, solution.transform(toCanonical));
+
+		return solution;
+	}
+
+	public synchronized void clear() {
+		mEntries.clear();
+	}
+
+	/**
+	 * @return number of cached solutions
+	 */
+	public synchronized int size() {
+		return mEntries.size();
+	}
+
+	/**
+	 * @return number of grids answered from the cache
+	 */
+	public synchronized int getHits() {
+		return mHits;
+	}
+
+	/**
+	 * @return number of grids that had to be solved
+	 */
+	public synchronized int getMisses() {
+		return mMisses;
+	}
+
+	/**
+	 * @return share of grids answered from the cache, {@code 0} before the
+	 * first request
+	 */
+	public synchronized double getHitRatio() {
+		int requests = mHits + mMisses;
+		return requests > 0 ? (double) mHits / requests : 0;
+	}
+
+	private int[][] getTransforms(int columns, int rows) {
+		String shape = columns + "x" + rows;
+		int[][] transforms = mTransforms.get(shape);
+
+		if (transforms == null) {
+			transforms = GridSymmetry.getTransforms(columns, rows);
+			mTransforms.put(shape, transforms);
+		}
+
+		return transforms;
+	}
+
+	/**
+	 * Builds the key of a grid in canonical form. The maximum word length
+	 * is part of it, since it changes the words found.
+	 */
+	private static String getKey(LetterGrid grid, String[] canonicalTiles) {
+		StringBuilder key = new StringBuilder();
+		key.append(grid.getColumns()).append('x').append(grid.getRows())
+				.append('/').append(grid.getMaxWordLength()).append(':');
+
+		for (String tile : canonicalTiles) {
+			key.append(tile).append(',');
+		}
+
+		return key.toString();
+	}
+}
@@ -0,0 +1,65 @@
+package com.mntnorv.wrdl.dict;
+
+import java.util.Locale;
+
+/**
+ * Symbols that tiles are made of. Symbols 0 to 25 are the letters 'A' to
+ * 'Z', the symbols after them are digraphs such as "QU" that sit on a
+ * single tile.
+ *
+ * <p>A {@link Dawg} has an edge for a digraph wherever its letters follow
+ * each other, so a digraph tile is searched with one step, the same as a
+ * single letter. Digraph edges are part of dictionary images: changing the
+ * digraphs needs a new {@link DictionaryImage#VERSION}.</p>
+ */
+public final class TileAlphabet {
+	public static final int NONE = -1;
+
+	public static final int LETTER_COUNT = 26;
+
+	private static final String[] DIGRAPHS = {"QU"};
+
+	public static final int SYMBOL_COUNT = LETTER_COUNT + DIGRAPHS.length;
+
+	private TileAlphabet() {
+	}
+
+	/**
+	 * @param token - letters of a tile, in any case
+	 * @return the symbol of the tile or {@link #NONE} if it is not in the
+	 * alphabet
+	 */
+	public static int getSymbol(String token) {
+		if (token.length() == 1) {
+			int symbol = Character.toUpperCase(token.charAt(0)) - 'A';
+			return symbol >= 0 && symbol < LETTER_COUNT ? symbol : NONE;
+		}
+
+		String upper = token.toUpperCase(Locale.US);
+		for (int i = 0; i < DIGRAPHS.length; i++) {
+			if (DIGRAPHS[i].equals(upper)) {
+				return LETTER_COUNT + i;
+			}
+		}
+
+		return NONE;
+	}
+
+	/**
+	 * @param symbol - symbol, {@code 0} to {@code SYMBOL_COUNT - 1}
+	 * @return the letters of the symbol in upper case
+	 */
+	public static String getToken(int symbol) {
+		if (symbol < 0 || symbol >= SYMBOL_COUNT) {
+			throw new IllegalArgumentException("Invalid symbol: " + symbol);
+		}
+
+		return symbol < LETTER_COUNT
+				? String.valueOf((char) ('A' + symbol))
+				: DIGRAPHS[symbol - LETTER_COUNT];
+	}
+
+	public static boolean isDigraph(int symbol) {
+		return symbol >= LETTER_COUNT && symbol < SYMBOL_COUNT;
+	}
+}
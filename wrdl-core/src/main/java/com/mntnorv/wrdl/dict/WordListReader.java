@@ -0,0 +1,239 @@
+package com.mntnorv.wrdl.dict;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a plain text word list, one word per line in ascending order, and
+ * builds the word store and the graph of a {@link Dictionary} in the same
+ * pass.
+ *
+ * <p>The stream is read until EOF in chunks of {@link #CHUNK_SIZE} bytes,
+ * so memory use does not depend on how the stream reports available data.
+ * Lines are split in bulk within a chunk, and a line cut off at the end of
+ * a chunk is moved to the front of the buffer before the next one is read.
+ * Gzip-compressed word lists are detected by their header and decompressed
+ * on the fly.</p>
+ */
+final class WordListReader {
+	static final int CHUNK_SIZE = 64 * 1024;
+
+	/**
+	 * Called after every chunk.
+	 */
+	interface Listener {
+		/**
+		 * @param bytesRead - bytes read from the stream so far, before
+		 *                  decompression
+		 * @param wordCount - number of words read so far
+		 * @return {@code true} to continue reading, {@code false} to stop
+		 */
+		boolean onProgress(long bytesRead, int wordCount);
+	}
+
+	private final WordStore.Builder mWordBuilder = new WordStore.Builder();
+	private final DawgBuilder mDawgBuilder = new DawgBuilder();
+
+	private long mBytesRead;
+	private int mLine;
+
+	private WordStore mWords;
+	private Dawg mDawg;
+
+	/**
+	 * Reads a word list. Empty lines and duplicate words are skipped, a
+	 * carriage return before a line feed is ignored and the last word does
+	 * not need a line feed. The stream is not closed.
+	 *
+	 * @param stream   - word list, plain or gzip-compressed
+	 * @param listener - listener to report progress to, or {@code null}
+	 * @return {@code true} if the whole list was read, {@code false} if the
+	 * listener stopped reading
+	 * @throws IOException if reading fails or the word list is invalid
+	 */
+	boolean read(InputStream stream, Listener listener) throws IOException {
+		if (mWords != null) {
+			throw new IllegalStateException("Word list already read");
+		}
+
+		CountingInputStream counter = new CountingInputStream(stream);
+		InputStream input = decompress(counter);
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+		boolean eof = false;
+
+		while (!eof) {
+			eof = fill(input, buffer);
+			buffer.flip();
+			splitLines(buffer, eof);
+
+			// A full buffer without a line feed can only hold an invalid word
+			if (buffer.position() == 0 && buffer.limit() == buffer.capacity()) {
+				throw new IOException("Invalid word list: line " + (mLine + 1) + " is too long");
+			}
+
+			buffer.compact();
+			mBytesRead = counter.getCount();
+
+			if (listener != null && !listener.onProgress(mBytesRead, mWordBuilder.size())) {
+				return false;
+			}
+		}
+
+		mWords = mWordBuilder.build();
+		mDawg = mDawgBuilder.build();
+
+		return true;
+	}
+
+	/**
+	 * Reads from the stream until the buffer is full or EOF is reached.
+	 *
+	 * @return {@code true} at EOF
+	 */
+	private static boolean fill(InputStream input, ByteBuffer buffer) throws IOException {
+		byte[] array = buffer.array();
+
+		while (buffer.hasRemaining()) {
+			int read = input.read(array, buffer.position(), buffer.remaining());
+
+			if (read == -1) {
+				return true;
+			}
+
+			buffer.position(buffer.position() + read);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Adds the complete lines in the buffer and moves its position past
+	 * them. At EOF the rest of the buffer is the last line.
+	 */
+	private void splitLines(ByteBuffer buffer, boolean eof) throws IOException {
+		byte[] array = buffer.array();
+		int start = buffer.position();
+		int limit = buffer.limit();
+
+		for (int i = start; i < limit; i++) {
+			if (array[i] == '\n') {
+				addLine(array, start, i - start);
+				start = i + 1;
+			}
+		}
+
+		if (eof && start < limit) {
+			addLine(array, start, limit - start);
+			start = limit;
+		}
+
+		buffer.position(start);
+	}
+
+	private void addLine(byte[] line, int offset, int length) throws IOException {
+		mLine++;
+
+		if (length > 0 && line[offset + length - 1] == '\r') {
+			length--;
+		}
+
+		if (length == 0) {
+			return;
+		}
+
+		try {
+			mWordBuilder.append(line, offset, length);
+			mWordBuilder.endWord();
+			mDawgBuilder.add(line, offset, length);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid word list at line " + mLine + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Wraps the stream in a {@link GZIPInputStream} if it starts with the
+	 * gzip header.
+	 */
+	private static InputStream decompress(InputStream stream) throws IOException {
+		PushbackInputStream pushback = new PushbackInputStream(stream, 2);
+		byte[] header = new byte[2];
+		int length = 0;
+		int read;
+
+		while (length < header.length && (read = pushback.read(header, length, header.length - length)) != -1) {
+			length += read;
+		}
+
+		pushback.unread(header, 0, length);
+
+		if (length == header.length
+				&& ((header[0] & 0xFF) | (header[1] & 0xFF) << 8) == GZIPInputStream.GZIP_MAGIC) {
+			return new GZIPInputStream(pushback, CHUNK_SIZE);
+		}
+
+		return pushback;
+	}
+
+	/**
+	 * @return bytes read from the stream, before decompression
+	 */
+	long getBytesRead() {
+		return mBytesRead;
+	}
+
+	WordStore getWords() {
+		return mWords;
+	}
+
+	Dawg getDawg() {
+		return mDawg;
+	}
+
+	/**
+	 * Counts the bytes read through it.
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+		private long mCount;
+
+		public CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+
+			if (b != -1) {
+				mCount++;
+			}
+
+			return b;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int read = super.read(buffer, offset, length);
+
+			if (read > 0) {
+				mCount += read;
+			}
+
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			mCount += skipped;
+			return skipped;
+		}
+
+		public long getCount() {
+			return mCount;
+		}
+	}
+}
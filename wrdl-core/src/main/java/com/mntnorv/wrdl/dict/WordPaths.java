@@ -0,0 +1,374 @@
+package com.mntnorv.wrdl.dict;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The tile paths of the words in a grid, packed into {@code long}s.
+ *
+ * <p>A tile index takes 4 bits on grids of up to 16 tiles, 5 bits up to 32
+ * tiles and 6 bits beyond that, so a path of a 4x4 grid fits up to 16 tiles
+ * in a single {@code long}. Paths are grouped by word, words are sorted by
+ * dictionary ordinal and path {@code p} takes the longs from
+ * {@code mPathOffsets[p]} up to {@code mPathOffsets[p + 1]}. Everything is
+ * held in primitive arrays.</p>
+ *
+ * <p>An open addressing hash table of the packed paths, built along with
+ * the paths, resolves a swipe to its word in constant time and without
+ * creating a String.</p>
+ */
+public class WordPaths {
+	private final int mBitsPerTile;
+	private final int mTilesPerLong;
+	private final long mTileMask;
+
+	private final int[] mWordOrdinals;
+	private final int[] mWordPaths;
+	private final int[] mPathOffsets;
+	private final byte[] mPathLengths;
+	private final long[] mPathData;
+
+	// Path index + 1 of every recorded path, 0 for empty slots
+	private final int[] mPathTable;
+	private final int[] mPathWords;
+
+	private WordPaths(int bitsPerTile, int[] wordOrdinals, int[] wordPaths,
+					  int[] pathOffsets, byte[] pathLengths, long[] pathData) {
+		mBitsPerTile = bitsPerTile;
+		mTilesPerLong = 64 / bitsPerTile;
+		mTileMask = (1L << bitsPerTile) - 1;
+		mWordOrdinals = wordOrdinals;
+		mWordPaths = wordPaths;
+		mPathOffsets = pathOffsets;
+		mPathLengths = pathLengths;
+		mPathData = pathData;
+
+		mPathWords = new int[pathLengths.length];
+		for (int word = 0; word < wordOrdinals.length; word++) {
+			Arrays.fill(mPathWords, wordPaths[word], wordPaths[word + 1], word);
+		}
+
+		// At most half full, so probe runs stay short
+		int tableSize = Integer.highestOneBit(Math.max(pathLengths.length, 1) * 2) * 2;
+		mPathTable = new int[tableSize];
+
+		for (int path = 0; path < pathLengths.length; path++) {
+			int slot = hash(path) & (tableSize - 1);
+
+			while (mPathTable[slot] != 0) {
+				slot = (slot + 1) & (tableSize - 1);
+			}
+
+			mPathTable[slot] = path + 1;
+		}
+	}
+
+	/**
+	 * @return sorted dictionary ordinals of the words in the grid
+	 */
+	public int[] getWordOrdinals() {
+		return mWordOrdinals.clone();
+	}
+
+	public int getWordCount() {
+		return mWordOrdinals.length;
+	}
+
+	/**
+	 * @param index - index of the word, {@code 0} to {@code getWordCount() - 1}
+	 * @return dictionary ordinal of the word
+	 */
+	public int getWordOrdinal(int index) {
+		return mWordOrdinals[index];
+	}
+
+	/**
+	 * @param ordinal - dictionary ordinal of a word
+	 * @return index of the word, or a negative number if it is not in the
+	 * grid
+	 */
+	public int indexOf(int ordinal) {
+		return Arrays.binarySearch(mWordOrdinals, ordinal);
+	}
+
+	/**
+	 * @return the number of paths of all words
+	 */
+	public int getPathCount() {
+		return mPathLengths.length;
+	}
+
+	/**
+	 * @param index - index of the word
+	 * @return the number of recorded paths of the word
+	 */
+	public int getPathCount(int index) {
+		return mWordPaths[index + 1] - mWordPaths[index];
+	}
+
+	/**
+	 * @param index - index of the word
+	 * @param path  - which of the word's paths, {@code 0} to
+	 *              {@code getPathCount(index) - 1}
+	 * @return tile indexes of the path, in order
+	 */
+	public int[] getPath(int index, int path) {
+		int p = mWordPaths[index] + path;
+		int[] tiles = new int[mPathLengths[p]];
+
+		for (int i = 0; i < tiles.length; i++) {
+			tiles[i] = getTile(p, i);
+		}
+
+		return tiles;
+	}
+
+	/**
+	 * Finds the word traced by a path, without searching the grid. Only
+	 * recorded paths are matched, so unless every path was recorded a word
+	 * can be missed when it is traced on another of its paths.
+	 *
+	 * @param tiles  - tile indexes of the path, in order
+	 * @param length - number of tiles in {@code tiles}
+	 * @return index of the word, or {@code -1} if no recorded path matches
+	 */
+	public int findWord(int[] tiles, int length) {
+		if (length > Byte.MAX_VALUE) {
+			return -1;
+		}
+
+		long hash = length;
+		long bits = 0L;
+
+		for (int i = 0; i < length; i++) {
+			if (tiles[i] < 0 || tiles[i] > mTileMask) {
+				return -1;
+			}
+
+			bits |= (long) tiles[i] << (i % mTilesPerLong * mBitsPerTile);
+
+			if (i % mTilesPerLong == mTilesPerLong - 1 || i == length - 1) {
+				hash = mix(hash ^ bits);
+				bits = 0L;
+			}
+		}
+
+		int mask = mPathTable.length - 1;
+		for (int slot = (int) hash & mask; mPathTable[slot] != 0; slot = (slot + 1) & mask) {
+			int path = mPathTable[slot] - 1;
+
+			if (pathEquals(path, tiles, length)) {
+				return mPathWords[path];
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Finds the word traced by a swipe.
+	 *
+	 * @param tiles - tile indexes of the swipe, in order
+	 * @return index of the word, or {@code -1} if no recorded path matches
+	 * @see #findWord(int[], int)
+	 */
+	public int findWord(List<Integer> tiles) {
+		int length = tiles.size();
+		int[] path = new int[length];
+
+		for (int i = 0; i < length; i++) {
+			path[i] = tiles.get(i);
+		}
+
+		return findWord(path, length);
+	}
+
+	/**
+	 * @return bits one tile index is packed into
+	 */
+	public int getBitsPerTile() {
+		return mBitsPerTile;
+	}
+
+	private int getTile(int path, int i) {
+		long bits = mPathData[mPathOffsets[path] + i / mTilesPerLong];
+		return (int) ((bits >>> (i % mTilesPerLong * mBitsPerTile)) & mTileMask);
+	}
+
+	/**
+	 * Hashes a recorded path the same way {@link #findWord(int[], int)}
+	 * hashes the tiles it is given.
+	 */
+	private int hash(int path) {
+		long hash = mPathLengths[path];
+
+		for (int i = mPathOffsets[path]; i < mPathOffsets[path + 1]; i++) {
+			hash = mix(hash ^ mPathData[i]);
+		}
+
+		return (int) hash;
+	}
+
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	private boolean pathEquals(int path, int[] tiles, int length) {
+		if (mPathLengths[path] != length) {
+			return false;
+		}
+
+		for (int i = 0; i < length; i++) {
+			if (getTile(path, i) != tiles[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @param tileCount - number of tiles in the grid
+	 * @return bits needed for one tile index
+	 */
+	static int getBitsPerTile(int tileCount) {
+		if (tileCount <= 16) {
+			return 4;
+		} else if (tileCount <= 32) {
+			return 5;
+		} else {
+			return 6;
+		}
+	}
+
+	/**
+	 * Solves a grid, recording word paths.
+	 *
+	 * @param grid     - grid to solve
+	 * @param dict     - dictionary
+	 * @param solver   - solver to use, its word listener is replaced
+	 * @param allPaths - {@code true} to keep every path of every word,
+	 *                 {@code false} to keep only the first one found
+	 * @return the paths
+	 */
+	static WordPaths record(LetterGrid grid, Dictionary dict, GridSolver solver, boolean allPaths) {
+		Recorder recorder = new Recorder(getBitsPerTile(grid.mTileCount));
+
+		solver.setWordListener(recorder);
+		try {
+			solver.solve(grid, dict);
+		} finally {
+			solver.setWordListener(null);
+		}
+
+		return recorder.build(allPaths);
+	}
+
+	/**
+	 * Packs paths as the solver reports them, in the order they are found.
+	 */
+	private static class Recorder implements GridSolver.WordListener {
+		private final int mBitsPerTile;
+		private final int mTilesPerLong;
+
+		private int[] mOrdinals = new int[256];
+		private int[] mOffsets = new int[257];
+		private byte[] mLengths = new byte[256];
+		private long[] mData = new long[256];
+		private int mCount;
+
+		public Recorder(int bitsPerTile) {
+			mBitsPerTile = bitsPerTile;
+			mTilesPerLong = 64 / bitsPerTile;
+		}
+
+		@Override
+		public boolean onWordFound(int ordinal, int[] path, int pathLength) {
+			int longs = (pathLength + mTilesPerLong - 1) / mTilesPerLong;
+			int offset = mOffsets[mCount];
+
+			if (mCount == mOrdinals.length) {
+				mOrdinals = Arrays.copyOf(mOrdinals, mCount * 2);
+				mOffsets = Arrays.copyOf(mOffsets, mCount * 2 + 1);
+				mLengths = Arrays.copyOf(mLengths, mCount * 2);
+			}
+
+			if (offset + longs > mData.length) {
+				mData = Arrays.copyOf(mData, Math.max(mData.length * 2, offset + longs));
+			}
+
+			for (int i = 0; i < longs; i++) {
+				mData[offset + i] = 0L;
+			}
+
+			for (int i = 0; i < pathLength; i++) {
+				mData[offset + i / mTilesPerLong] |= (long) path[i] << (i % mTilesPerLong * mBitsPerTile);
+			}
+
+			mOrdinals[mCount] = ordinal;
+			mLengths[mCount] = (byte) pathLength;
+			mOffsets[mCount + 1] = offset + longs;
+			mCount++;
+
+			return true;
+		}
+
+		/**
+		 * Groups the recorded paths by word.
+		 */
+		public WordPaths build(boolean allPaths) {
+			// Sort by ordinal, keeping the order paths were found in
+			long[] keys = new long[mCount];
+			for (int i = 0; i < mCount; i++) {
+				keys[i] = (long) mOrdinals[i] << 32 | i;
+			}
+
+			Arrays.sort(keys);
+
+			int[] wordOrdinals = new int[mCount];
+			int[] wordPaths = new int[mCount + 1];
+			int[] pathOffsets = new int[mCount + 1];
+			byte[] pathLengths = new byte[mCount];
+			long[] pathData = new long[mOffsets[mCount]];
+			int words = 0;
+			int paths = 0;
+			int longs = 0;
+
+			for (int i = 0; i < mCount; i++) {
+				int ordinal = (int) (keys[i] >>> 32);
+				int path = (int) keys[i];
+				boolean newWord = words == 0 || wordOrdinals[words - 1] != ordinal;
+
+				if (!newWord && !allPaths) {
+					continue;
+				}
+
+				if (newWord) {
+					wordOrdinals[words] = ordinal;
+					wordPaths[words] = paths;
+					words++;
+				}
+
+				int length = mOffsets[path + 1] - mOffsets[path];
+				System.arraycopy(mData, mOffsets[path], pathData, longs, length);
+
+				pathOffsets[paths] = longs;
+				pathLengths[paths] = mLengths[path];
+				longs += length;
+				paths++;
+			}
+
+			wordPaths[words] = paths;
+			pathOffsets[paths] = longs;
+
+			return new WordPaths(mBitsPerTile,
+					Arrays.copyOf(wordOrdinals, words),
+					Arrays.copyOf(wordPaths, words + 1),
+					Arrays.copyOf(pathOffsets, paths + 1),
+					Arrays.copyOf(pathLengths, paths),
+					Arrays.copyOf(pathData, longs));
+		}
+	}
+}
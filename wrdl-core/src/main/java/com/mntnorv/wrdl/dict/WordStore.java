@@ -0,0 +1,410 @@
+package com.mntnorv.wrdl.dict;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Sorted word list, front coded in blocks of {@link #BLOCK_SIZE} words.
+ *
+ * <p>Every word is stored as the number of leading letters it shares with
+ * the word before it, the number of letters that follow and those letters,
+ * one byte each for the counts. The first word of a block shares nothing,
+ * so a block can be decoded on its own. {@code blocks[b]} is the offset of
+ * block {@code b} in {@code data}, with one more entry for the end of the
+ * data. Sorted words share long prefixes, so this takes less than half the
+ * space of storing words in full with an offset each.</p>
+ *
+ * <p>A word is found by a binary search over the first words of the blocks
+ * and a scan of one block, comparing in place without allocating. Like
+ * {@link Dawg}, the arrays are held in buffers so that a store can be used
+ * straight from a memory-mapped {@link DictionaryImage}.</p>
+ */
+final class WordStore {
+	static final int BLOCK_SIZE = 16;
+	static final int MAX_WORD_LENGTH = 64;
+
+	private final ByteBuffer mData;
+	private final IntBuffer mBlocks;
+	private final int mSize;
+
+	WordStore(ByteBuffer data, IntBuffer blocks, int size) {
+		if (size < 0 || blocks.limit() != getBlockCount(size) + 1
+				|| blocks.get(blocks.limit() - 1) != data.limit()) {
+			throw new IllegalArgumentException("Block offsets do not match word data");
+		}
+
+		mData = data;
+		mBlocks = blocks;
+		mSize = size;
+	}
+
+	/**
+	 * @return number of blocks holding {@code size} words
+	 */
+	static int getBlockCount(int size) {
+		return (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+	}
+
+	/**
+	 * @return number of words in the store
+	 */
+	int size() {
+		return mSize;
+	}
+
+	/**
+	 * @return size of the coded word data in bytes
+	 */
+	int getDataLength() {
+		return mData.limit();
+	}
+
+	int getLength(int ordinal) {
+		int position = mBlocks.get(ordinal / BLOCK_SIZE);
+		int length = 0;
+
+		for (int i = ordinal % BLOCK_SIZE; i >= 0; i--) {
+			int suffixLength = mData.get(position + 1) & 0xFF;
+			length = (mData.get(position) & 0xFF) + suffixLength;
+			position += 2 + suffixLength;
+		}
+
+		return length;
+	}
+
+	/**
+	 * Decodes a word into a buffer.
+	 *
+	 * @param ordinal - index of the word
+	 * @param dest    - destination buffer, at least {@link #MAX_WORD_LENGTH}
+	 *                long as the words decoded on the way may be longer
+	 * @return length of the word
+	 */
+	int copyWord(int ordinal, byte[] dest) {
+		int position = mBlocks.get(ordinal / BLOCK_SIZE);
+		int length = 0;
+
+		for (int i = ordinal % BLOCK_SIZE; i >= 0; i--) {
+			int prefixLength = mData.get(position) & 0xFF;
+			int suffixLength = mData.get(position + 1) & 0xFF;
+			position += 2;
+
+			for (int j = 0; j < suffixLength; j++) {
+				dest[prefixLength + j] = mData.get(position++);
+			}
+
+			length = prefixLength + suffixLength;
+		}
+
+		return length;
+	}
+
+	String getWord(int ordinal) {
+		byte[] word = new byte[MAX_WORD_LENGTH];
+		int length = copyWord(ordinal, word);
+		char[] chars = new char[length];
+
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) (word[i] & 0xFF);
+		}
+
+		return new String(chars);
+	}
+
+	/**
+	 * Finds a word.
+	 *
+	 * @param word - word to look for
+	 * @return the ordinal of the word if it is in the store, otherwise
+	 * {@code (-(insertion point) - 1)}, as in {@link Arrays#binarySearch}
+	 */
+	int indexOf(CharSequence word) {
+		// Last block starting with a word not greater than the one searched
+		int low = 0;
+		int high = getBlockCount(mSize) - 1;
+
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+
+			if (compareFirst(mid, word) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+
+		if (high < 0) {
+			return -1;
+		}
+
+		return scanBlock(high, word);
+	}
+
+	/**
+	 * Compares the first word of a block with {@code word}.
+	 */
+	private int compareFirst(int block, CharSequence word) {
+		int position = mBlocks.get(block);
+		int length = mData.get(position + 1) & 0xFF;
+		int minLength = Math.min(length, word.length());
+		position += 2;
+
+		for (int i = 0; i < minLength; i++) {
+			int diff = (mData.get(position + i) & 0xFF) - word.charAt(i);
+
+			if (diff != 0) {
+				return diff;
+			}
+		}
+
+		return length - word.length();
+	}
+
+	/**
+	 * Looks for a word in a block whose first word is not greater than it.
+	 * While the words are less than the one searched, {@code matched} is the
+	 * number of letters the last of them shares with it. A word sharing more
+	 * than that with its predecessor is less as well, one sharing fewer is
+	 * greater, and only the rest need their letters compared.
+	 */
+	private int scanBlock(int block, CharSequence word) {
+		int first = block * BLOCK_SIZE;
+		int count = Math.min(BLOCK_SIZE, mSize - first);
+		int position = mBlocks.get(block);
+		int wordLength = word.length();
+		int matched = 0;
+
+		for (int i = 0; i < count; i++) {
+			int prefixLength = mData.get(position) & 0xFF;
+			int suffixLength = mData.get(position + 1) & 0xFF;
+			position += 2;
+
+			if (prefixLength < matched) {
+				return -(first + i) - 1;
+			}
+
+			if (prefixLength == matched) {
+				int length = prefixLength + suffixLength;
+				int next = position;
+
+				while (matched < length && matched < wordLength
+						&& (mData.get(next) & 0xFF) == word.charAt(matched)) {
+					matched++;
+					next++;
+				}
+
+				if (matched == length && matched == wordLength) {
+					return first + i;
+				}
+
+				if (matched < length && (matched == wordLength
+						|| (mData.get(next) & 0xFF) > word.charAt(matched))) {
+					return -(first + i) - 1;
+				}
+			}
+
+			position += suffixLength;
+		}
+
+		return -(first + count) - 1;
+	}
+
+	/**
+	 * Creates a reader for going through the words in order.
+	 *
+	 * @param ordinal - first word to read
+	 */
+	Reader reader(int ordinal) {
+		return new Reader(ordinal);
+	}
+
+	ByteBuffer getData() {
+		return mData.duplicate();
+	}
+
+	IntBuffer getBlocks() {
+		return mBlocks.duplicate();
+	}
+
+	/**
+	 * Reads words in order. Blocks follow each other in the data, so every
+	 * word is decoded from the one before it by copying only its new letters.
+	 */
+	final class Reader {
+		private final byte[] mWord = new byte[MAX_WORD_LENGTH];
+		private int mOrdinal;
+		private int mPosition;
+
+		private Reader(int ordinal) {
+			if (ordinal < 0 || ordinal > mSize) {
+				throw new IndexOutOfBoundsException("Invalid word ordinal: " + ordinal);
+			}
+
+			int block = ordinal / BLOCK_SIZE;
+			mOrdinal = block * BLOCK_SIZE;
+			mPosition = mBlocks.get(Math.min(block, mBlocks.limit() - 1));
+
+			// Words left of the first one are decoded for the letters they share
+			while (mOrdinal < ordinal) {
+				next();
+			}
+		}
+
+		boolean hasNext() {
+			return mOrdinal < mSize;
+		}
+
+		/**
+		 * @return ordinal of the word the next call to {@link #next} reads
+		 */
+		int getOrdinal() {
+			return mOrdinal;
+		}
+
+		/**
+		 * Decodes the next word into the reader's buffer.
+		 *
+		 * @return length of the word
+		 */
+		int next() {
+			int prefixLength = mData.get(mPosition) & 0xFF;
+			int suffixLength = mData.get(mPosition + 1) & 0xFF;
+			mPosition += 2;
+
+			for (int i = 0; i < suffixLength; i++) {
+				mWord[prefixLength + i] = mData.get(mPosition++);
+			}
+
+			mOrdinal++;
+			return prefixLength + suffixLength;
+		}
+
+		/**
+		 * @return the letters of the word read last, valid until the next
+		 * call to {@link #next}
+		 */
+		byte[] getLetters() {
+			return mWord;
+		}
+	}
+
+	/**
+	 * Collects words for a {@link WordStore}, letter by letter.
+	 */
+	static class Builder {
+		private byte[] mData = new byte[64 * 1024];
+		private int[] mOffsets = new int[8 * 1024];
+		private int mDataLength = 0;
+		private int mWordStart = 0;
+		private int mSize = 0;
+
+		/**
+		 * Appends letters to the current word.
+		 */
+		void append(byte[] word, int offset, int length) {
+			if (mDataLength + length > mData.length) {
+				mData = Arrays.copyOf(mData, Math.max(mData.length * 2, mDataLength + length));
+			}
+
+			System.arraycopy(word, offset, mData, mDataLength, length);
+			mDataLength += length;
+		}
+
+		/**
+		 * Ends the current word. Words must be added in ascending byte order,
+		 * empty words and duplicates are ignored.
+		 */
+		void endWord() {
+			if (mDataLength == mWordStart) {
+				return;
+			}
+
+			if (mSize > 0) {
+				int result = compareWithPrevious();
+
+				if (result == 0) {
+					mDataLength = mWordStart;
+					return;
+				} else if (result < 0) {
+					throw new IllegalArgumentException("Words must be added in sorted order");
+				}
+			}
+
+			if (mDataLength - mWordStart > MAX_WORD_LENGTH) {
+				throw new IllegalArgumentException("Word is longer than " + MAX_WORD_LENGTH + " letters");
+			}
+
+			if (mSize + 2 > mOffsets.length) {
+				mOffsets = Arrays.copyOf(mOffsets, mOffsets.length * 2);
+			}
+
+			mOffsets[mSize++] = mWordStart;
+			mWordStart = mDataLength;
+		}
+
+		int size() {
+			return mSize;
+		}
+
+		private int compareWithPrevious() {
+			int previousStart = mOffsets[mSize - 1];
+			int previousLength = mWordStart - previousStart;
+			int length = mDataLength - mWordStart;
+			int minLength = Math.min(length, previousLength);
+
+			for (int i = 0; i < minLength; i++) {
+				int diff = (mData[mWordStart + i] & 0xFF) - (mData[previousStart + i] & 0xFF);
+
+				if (diff != 0) {
+					return diff;
+				}
+			}
+
+			return length - previousLength;
+		}
+
+		/**
+		 * Ends the current word and front codes the words.
+		 *
+		 * @return the built store
+		 */
+		WordStore build() {
+			endWord();
+			mOffsets[mSize] = mDataLength;
+
+			byte[] data = new byte[mDataLength + 2 * mSize];
+			int[] blocks = new int[getBlockCount(mSize) + 1];
+			int length = 0;
+
+			for (int i = 0; i < mSize; i++) {
+				int start = mOffsets[i];
+				int wordLength = mOffsets[i + 1] - start;
+				int prefixLength = 0;
+
+				if (i % BLOCK_SIZE == 0) {
+					blocks[i / BLOCK_SIZE] = length;
+				} else {
+					int previous = mOffsets[i - 1];
+					int maxPrefix = Math.min(wordLength, start - previous);
+
+					while (prefixLength < maxPrefix
+							&& mData[start + prefixLength] == mData[previous + prefixLength]) {
+						prefixLength++;
+					}
+				}
+
+				data[length++] = (byte) prefixLength;
+				data[length++] = (byte) (wordLength - prefixLength);
+				System.arraycopy(mData, start + prefixLength, data, length, wordLength - prefixLength);
+				length += wordLength - prefixLength;
+			}
+
+			blocks[blocks.length - 1] = length;
+
+			return new WordStore(
+					ByteBuffer.wrap(Arrays.copyOf(data, length)),
+					IntBuffer.wrap(blocks), mSize);
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package com.mntnorv.wrdl.log;
+
+/**
+ * Destination for log messages from the core classes. The Android app
+ * forwards them to {@code android.util.Log}.
+ */
+public interface Logger {
+	public void d(String tag, String message);
+
+	public void i(String tag, String message);
+
+	public void w(String tag, String message);
+}
@@ -0,0 +1,51 @@
+package com.mntnorv.wrdl.log;
+
+/**
+ * Holds the {@link Logger} used by the core classes. Messages are discarded
+ * until one is installed with {@link #setLogger}.
+ */
+public final class Logging {
+	private static final Logger NO_LOGGER = new Logger() {
+		@Override
+		public void d(String tag, String message) {
+		}
+
+		@Override
+		public void i(String tag, String message) {
+		}
+
+		@Override
+		public void w(String tag, String message) {
+		}
+	};
+
+	private static volatile Logger sLogger = NO_LOGGER;
+
+	private Logging() {
+	}
+
+	/**
+	 * Installs a logger.
+	 *
+	 * @param logger - logger to use, or {@code null} to discard messages
+	 */
+	public static void setLogger(Logger logger) {
+		sLogger = logger != null ? logger : NO_LOGGER;
+	}
+
+	public static Logger getLogger() {
+		return sLogger;
+	}
+
+	public static void d(String tag, String message) {
+		sLogger.d(tag, message);
+	}
+
+	public static void i(String tag, String message) {
+		sLogger.i(tag, message);
+	}
+
+	public static void w(String tag, String message) {
+		sLogger.w(tag, message);
+	}
+}
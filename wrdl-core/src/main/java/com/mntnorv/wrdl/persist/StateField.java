@@ -0,0 +1,17 @@
+package com.mntnorv.wrdl.persist;
+
+/**
+ * Fields of a saved game. Storage implementations map them to their own
+ * column or key names.
+ */
+public enum StateField {
+	ID,
+	LETTERS,
+	SIZE,
+	GAME_MODE,
+	GUESSED,
+	WORDS,
+	GUESSED_DATA,
+	POINTS,
+	WORDS_DATA
+}
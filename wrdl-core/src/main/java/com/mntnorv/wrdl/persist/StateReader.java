@@ -0,0 +1,18 @@
+package com.mntnorv.wrdl.persist;
+
+/**
+ * Supplies the fields of a saved game.
+ */
+public interface StateReader {
+	/**
+	 * @param field - field to check
+	 * @return {@code true} if the field is present and not null
+	 */
+	public boolean has(StateField field);
+
+	public int getInt(StateField field);
+
+	public String getString(StateField field);
+
+	public byte[] getBlob(StateField field);
+}
@@ -0,0 +1,12 @@
+package com.mntnorv.wrdl.persist;
+
+/**
+ * Receives the fields of a saved game.
+ */
+public interface StateWriter {
+	public void putInt(StateField field, int value);
+
+	public void putString(StateField field, String value);
+
+	public void putBlob(StateField field, byte[] value);
+}
@@ -0,0 +1,25 @@
+package com.mntnorv.wrdl;
+
+import android.util.Log;
+
+import com.mntnorv.wrdl.log.Logger;
+
+/**
+ * Forwards log messages from the core classes to {@link Log}.
+ */
+public class AndroidLogger implements Logger {
+	@Override
+	public void d(String tag, String message) {
+		Log.d(tag, message);
+	}
+
+	@Override
+	public void i(String tag, String message) {
+		Log.i(tag, message);
+	}
+
+	@Override
+	public void w(String tag, String message) {
+		Log.w(tag, message);
+	}
+}
@@ -6,21 +6,30 @@ import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.Toast;
+import android.widget.TextView;
 
+import com.mntnorv.wrdl.db.BoardPool;
 import com.mntnorv.wrdl.db.GameStateSource;
 import com.mntnorv.wrdl.dict.Dictionary;
 import com.mntnorv.wrdl.dict.DictionaryProvider;
-import com.mntnorv.wrdl.dict.LetterGrid;
+import com.mntnorv.wrdl.views.TileGridView;
 
 import java.util.List;
 
 import rx.Observer;
 import rx.android.schedulers.AndroidSchedulers;
 import rx.concurrency.Schedulers;
+import rx.subscriptions.CompositeSubscription;
 import rx.util.functions.Action1;
 
 public class GameFragment extends Fragment {
+	private static final int GRID_SIZE = 4;
+
+	private TileGridView mTileGridView;
+	private TextView mWordCountView;
+	private int mWordCount;
+	private CompositeSubscription mSubscriptions = new CompositeSubscription();
+
 	public GameFragment() {
 	}
 
@@ -28,11 +37,13 @@ public class GameFragment extends Fragment {
 	public View onCreateView(LayoutInflater inflater, ViewGroup container,
 							 Bundle savedInstanceState) {
 		View rootView = inflater.inflate(R.layout.fragment_game, container, false);
+		mWordCountView = (TextView) rootView.findViewById(R.id.word_count);
+		mTileGridView = (TileGridView) rootView.findViewById(R.id.tile_grid);
 
-		DictionaryProvider.getDictionary(getActivity(), R.raw.sowpods3)
+		mSubscriptions.add(DictionaryProvider.getDictionary(getActivity(), R.raw.sowpods)
 				.subscribeOn(Schedulers.newThread())
 				.observeOn(AndroidSchedulers.mainThread())
-				.subscribe(new DictionaryObserver());
+				.subscribe(new DictionaryObserver()));
 
 		new GameStateSource(getActivity(), getLoaderManager())
 				.getAllItems()
@@ -48,16 +59,51 @@ public class GameFragment extends Fragment {
 		return rootView;
 	}
 
+	@Override
+	public void onDestroyView() {
+		// Stops loading and any search still running for this view
+		mSubscriptions.unsubscribe();
+		mSubscriptions = new CompositeSubscription();
+		super.onDestroyView();
+	}
+
+	private void updateWordCount() {
+		mWordCountView.setText(getResources().getQuantityString(R.plurals.word_count, mWordCount, mWordCount));
+	}
+
+	private void showGame(GameState gameState) {
+		mTileGridView.setTiles(gameState.getLetterArray());
+		mWordCount = gameState.getWordCount();
+		updateWordCount();
+	}
+
 	private class DictionaryObserver implements Observer<Dictionary> {
 		@Override
 		public void onNext(Dictionary dictionary) {
-			Toast.makeText(
-					getActivity().getApplicationContext(),
-					Integer.toString(
-						new LetterGrid(new String[]{"A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M", "N", "O", "P"}, 4, 4).getWordsInGrid(dictionary).size()
-					),
-					Toast.LENGTH_SHORT
-			).show();
+			final BoardPool pool = new BoardPool(getActivity(), dictionary, GRID_SIZE);
+
+			mSubscriptions.add(pool.newGame(GameMode.INFINITE)
+					.subscribeOn(Schedulers.newThread())
+					.observeOn(AndroidSchedulers.mainThread())
+					.subscribe(new Action1<GameState>() {
+						@Override
+						public void call(GameState gameState) {
+							showGame(gameState);
+
+							// Top the pool up for the next game
+							mSubscriptions.add(pool.refillBoards()
+									.subscribeOn(Schedulers.newThread())
+									.subscribe(new Action1<Integer>() {
+										@Override
+										public void call(Integer added) {}
+									}, new Action1<Throwable>() {
+										@Override
+										public void call(Throwable throwable) {
+											Log.w("GameFragment", "Failed to refill board pool", throwable);
+										}
+									}));
+						}
+					}));
 		}
 
 		@Override
@@ -0,0 +1,13 @@
+package com.mntnorv.wrdl;
+
+import android.app.Application;
+
+import com.mntnorv.wrdl.log.Logging;
+
+public class WrdlApplication extends Application {
+	@Override
+	public void onCreate() {
+		super.onCreate();
+		Logging.setLogger(new AndroidLogger());
+	}
+}
@@ -0,0 +1,292 @@
+package com.mntnorv.wrdl.db;
+
+import android.content.ContentResolver;
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.net.Uri;
+import android.util.Log;
+
+import com.mntnorv.wrdl.GameMode;
+import com.mntnorv.wrdl.GameState;
+import com.mntnorv.wrdl.dict.Board;
+import com.mntnorv.wrdl.dict.BoardConstraints;
+import com.mntnorv.wrdl.dict.BoardGenerator;
+import com.mntnorv.wrdl.dict.Dictionary;
+import com.mntnorv.wrdl.dict.OrdinalCodec;
+
+import java.util.List;
+
+import rx.Observable;
+import rx.Observer;
+import rx.Subscription;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * Pre-solved boards of one size, kept in the {@code boards} table so a new
+ * game can start without generating and solving a board first.
+ *
+ * <p>Taking a board reads and deletes the oldest row for the size, an
+ * indexed lookup. Once fewer than {@link #setLowWaterMark} boards are left,
+ * {@link #refill} generates boards up to {@link #setCapacity} and inserts
+ * them in batches, each batch in one transaction.</p>
+ */
+public class BoardPool {
+	private static final String TAG = "BoardPool";
+	private static final int DEFAULT_LOW_WATER_MARK = 10;
+	private static final int DEFAULT_CAPACITY = 50;
+	private static final int DEFAULT_MIN_WORDS = 30;
+	private static final int INSERT_BATCH_SIZE = 25;
+
+	// Held while refilling, so the pool is not refilled twice at once
+	private static final Object sRefillLock = new Object();
+
+	private final ContentResolver mContentResolver;
+	private final Dictionary mDictionary;
+	private final int mSize;
+
+	private BoardConstraints mConstraints;
+	private int mLowWaterMark = DEFAULT_LOW_WATER_MARK;
+	private int mCapacity = DEFAULT_CAPACITY;
+
+	/**
+	 * Creates a pool.
+	 *
+	 * @param context - context
+	 * @param dict    - dictionary boards are solved with
+	 * @param size    - number of rows and columns of the boards
+	 */
+	public BoardPool(Context context, Dictionary dict, int size) {
+		mContentResolver = context.getContentResolver();
+		mDictionary = dict;
+		mSize = size;
+		mConstraints = new BoardConstraints().setWordCount(DEFAULT_MIN_WORDS, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Sets the constraints new boards must meet. Boards already in the pool
+	 * are not checked again.
+	 *
+	 * @param constraints - board constraints
+	 */
+	public void setConstraints(BoardConstraints constraints) {
+		mConstraints = constraints;
+	}
+
+	/**
+	 * Sets the number of boards below which {@link #refill} generates more.
+	 *
+	 * @param lowWaterMark - number of boards
+	 */
+	public void setLowWaterMark(int lowWaterMark) {
+		mLowWaterMark = lowWaterMark;
+	}
+
+	/**
+	 * Sets the number of boards {@link #refill} fills the pool up to.
+	 *
+	 * @param capacity - number of boards
+	 */
+	public void setCapacity(int capacity) {
+		mCapacity = capacity;
+	}
+
+	/**
+	 * Creates a new game on a board from the pool, or on a freshly generated
+	 * board if the pool is empty. Runs on the subscribing thread.
+	 *
+	 * @param gameMode - game mode
+	 * @return an Observable emitting the new game
+	 */
+	public Observable<GameState> newGame(final GameMode gameMode) {
+		return Observable.create(new Observable.OnSubscribeFunc<GameState>() {
+			@Override
+			public Subscription onSubscribe(Observer<? super GameState> observer) {
+				try {
+					Board board = take();
+
+					if (board == null) {
+						board = generate();
+					}
+
+					observer.onNext(new GameState(board, gameMode, mDictionary));
+					observer.onCompleted();
+				} catch (Exception e) {
+					observer.onError(e);
+				}
+
+				return Subscriptions.empty();
+			}
+		});
+	}
+
+	/**
+	 * Refills the pool if it is below the low-water mark. Runs on the
+	 * subscribing thread.
+	 *
+	 * @return an Observable emitting the number of boards added
+	 */
+	public Observable<Integer> refillBoards() {
+		return Observable.create(new Observable.OnSubscribeFunc<Integer>() {
+			@Override
+			public Subscription onSubscribe(Observer<? super Integer> observer) {
+				try {
+					observer.onNext(refill());
+					observer.onCompleted();
+				} catch (Exception e) {
+					observer.onError(e);
+				}
+
+				return Subscriptions.empty();
+			}
+		});
+	}
+
+	/**
+	 * Takes the oldest board out of the pool.
+	 *
+	 * @return the board, or {@code null} if the pool is empty
+	 */
+	public Board take() {
+		Uri uri = WrdlContentProvider.BOARDS_URI.buildUpon()
+				.appendQueryParameter(WrdlContentProvider.QUERY_PARAMETER_LIMIT, "1")
+				.build();
+		String[] selectionArgs = new String[]{Integer.toString(mSize)};
+
+		while (true) {
+			Cursor cursor = mContentResolver.query(uri, BoardsTable.ALL_COLUMNS,
+					BoardsTable.COLUMN_SIZE + "=?", selectionArgs, BoardsTable.COLUMN_ID);
+
+			if (cursor == null) {
+				return null;
+			}
+
+			long id;
+			Board board;
+
+			try {
+				if (!cursor.moveToFirst()) {
+					return null;
+				}
+
+				id = cursor.getLong(cursor.getColumnIndexOrThrow(BoardsTable.COLUMN_ID));
+				board = boardFromCursor(cursor);
+			} finally {
+				cursor.close();
+			}
+
+			// Another caller may have taken the same row, and boards solved
+			// with a different dictionary are dropped
+			Uri itemUri = WrdlContentProvider.BOARDS_URI.buildUpon()
+					.appendPath(Long.toString(id))
+					.build();
+
+			if (mContentResolver.delete(itemUri, null, null) == 1 && board != null) {
+				return board;
+			}
+		}
+	}
+
+	/**
+	 * @return number of boards in the pool
+	 */
+	public int getBoardCount() {
+		Cursor cursor = mContentResolver.query(WrdlContentProvider.BOARDS_URI,
+				new String[]{"count(*)"}, BoardsTable.COLUMN_SIZE + "=?",
+				new String[]{Integer.toString(mSize)}, null);
+
+		if (cursor == null) {
+			return 0;
+		}
+
+		try {
+			return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+		} finally {
+			cursor.close();
+		}
+	}
+
+	/**
+	 * Fills the pool up to its capacity if it is below the low-water mark.
+	 * Blocks while boards are generated.
+	 *
+	 * @return number of boards added
+	 * @throws InterruptedException if interrupted while generating
+	 */
+	public int refill() throws InterruptedException {
+		synchronized (sRefillLock) {
+			int count = getBoardCount();
+
+			if (count >= mLowWaterMark) {
+				return 0;
+			}
+
+			BoardGenerator generator = new BoardGenerator(mDictionary, mSize, mConstraints);
+			long seed = System.nanoTime();
+			int added = 0;
+
+			while (count + added < mCapacity) {
+				int batchSize = Math.min(INSERT_BATCH_SIZE, mCapacity - count - added);
+				List<Board> boards = generator.generate(batchSize, seed + added);
+
+				if (boards.isEmpty()) {
+					break;
+				}
+
+				ContentValues[] values = new ContentValues[boards.size()];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = boardToContentValues(boards.get(i));
+				}
+
+				added += mContentResolver.bulkInsert(WrdlContentProvider.BOARDS_URI, values);
+			}
+
+			Log.d(TAG, "Added " + added + " boards of size " + mSize);
+			return added;
+		}
+	}
+
+	private Board generate() throws InterruptedException {
+		BoardGenerator generator = new BoardGenerator(mDictionary, mSize, mConstraints);
+		List<Board> boards = generator.generate(1, System.nanoTime());
+
+		if (boards.isEmpty()) {
+			// Constraints too tight, any board is better than none
+			generator = new BoardGenerator(mDictionary, mSize, new BoardConstraints());
+			boards = generator.generate(1, System.nanoTime());
+		}
+
+		return boards.get(0);
+	}
+
+	private ContentValues boardToContentValues(Board board) {
+		ContentValues values = new ContentValues();
+		values.put(BoardsTable.COLUMN_SIZE, board.getSize());
+		values.put(BoardsTable.COLUMN_LETTERS, GameState.letterArrayToString(board.getTiles()));
+		values.put(BoardsTable.COLUMN_WORDS, board.getWordCount());
+		values.put(BoardsTable.COLUMN_SCORE, board.getScore());
+		values.put(BoardsTable.COLUMN_LONGEST_WORD, board.getLongestWordLength());
+		values.put(BoardsTable.COLUMN_WORDS_DATA, OrdinalCodec.encode(board.getWordOrdinals(), mDictionary));
+
+		return values;
+	}
+
+	/**
+	 * @return the board at the cursor, or {@code null} if its words were
+	 * stored for a different dictionary
+	 */
+	private Board boardFromCursor(Cursor cursor) {
+		int size = cursor.getInt(cursor.getColumnIndexOrThrow(BoardsTable.COLUMN_SIZE));
+		String letters = cursor.getString(cursor.getColumnIndexOrThrow(BoardsTable.COLUMN_LETTERS));
+		int score = cursor.getInt(cursor.getColumnIndexOrThrow(BoardsTable.COLUMN_SCORE));
+		int longestWord = cursor.getInt(cursor.getColumnIndexOrThrow(BoardsTable.COLUMN_LONGEST_WORD));
+		byte[] wordsData = cursor.getBlob(cursor.getColumnIndexOrThrow(BoardsTable.COLUMN_WORDS_DATA));
+
+		int[] ordinals = OrdinalCodec.decode(wordsData, mDictionary);
+		if (ordinals == null) {
+			return null;
+		}
+
+		return new Board(size, GameState.stringToLetterArray(letters), ordinals, score, longestWord);
+	}
+}
@@ -0,0 +1,56 @@
+package com.mntnorv.wrdl.db;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+/**
+ * Pre-solved boards waiting to be played, see {@link BoardPool}.
+ */
+public class BoardsTable {
+	// Database table
+	public static final String TABLE_BOARDS        = "boards";
+	public static final String COLUMN_ID           = "_id";
+	public static final String COLUMN_SIZE         = "size";
+	public static final String COLUMN_LETTERS      = "letters";
+	public static final String COLUMN_WORDS        = "words";
+	public static final String COLUMN_SCORE        = "score";
+	public static final String COLUMN_LONGEST_WORD = "longest_word";
+	public static final String COLUMN_WORDS_DATA   = "words_data";
+
+	public static final String[] ALL_COLUMNS = new String[]{
+			COLUMN_ID, COLUMN_SIZE, COLUMN_LETTERS, COLUMN_WORDS, COLUMN_SCORE, COLUMN_LONGEST_WORD,
+			COLUMN_WORDS_DATA
+	};
+
+	// Database creation SQL statements
+	private static final String DATABASE_CREATE = "create table "
+			+ TABLE_BOARDS
+			+ "("
+			+ COLUMN_ID           + " integer primary key autoincrement, "
+			+ COLUMN_SIZE         + " integer not null, "
+			+ COLUMN_LETTERS      + " text not null, "
+			+ COLUMN_WORDS        + " integer not null, "
+			+ COLUMN_SCORE        + " integer not null, "
+			+ COLUMN_LONGEST_WORD + " integer not null, "
+			+ COLUMN_WORDS_DATA   + " blob not null"
+			+ ");";
+
+	// Boards are taken oldest first for a size
+	private static final String INDEX_CREATE = "create index "
+			+ TABLE_BOARDS + "_" + COLUMN_SIZE
+			+ " on " + TABLE_BOARDS
+			+ "(" + COLUMN_SIZE + ", " + COLUMN_ID + ");";
+
+	public static void onCreate(SQLiteDatabase database) {
+		database.execSQL(DATABASE_CREATE);
+		database.execSQL(INDEX_CREATE);
+	}
+
+	public static void onUpgrade(SQLiteDatabase database, int oldVersion,
+								 int newVersion) {
+		// The pool only holds boards that can be generated again
+		Log.i(BoardsTable.class.getName(), "Recreating board pool for database version " + newVersion);
+		database.execSQL("DROP TABLE IF EXISTS " + TABLE_BOARDS);
+		onCreate(database);
+	}
+}
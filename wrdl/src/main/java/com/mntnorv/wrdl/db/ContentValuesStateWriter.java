@@ -0,0 +1,32 @@
+package com.mntnorv.wrdl.db;
+
+import android.content.ContentValues;
+
+import com.mntnorv.wrdl.persist.StateField;
+import com.mntnorv.wrdl.persist.StateWriter;
+
+/**
+ * Collects the fields of a saved game as {@code states} table values.
+ */
+public class ContentValuesStateWriter implements StateWriter {
+	private final ContentValues mValues = new ContentValues();
+
+	@Override
+	public void putInt(StateField field, int value) {
+		mValues.put(GameStatesTable.getColumn(field), value);
+	}
+
+	@Override
+	public void putString(StateField field, String value) {
+		mValues.put(GameStatesTable.getColumn(field), value);
+	}
+
+	@Override
+	public void putBlob(StateField field, byte[] value) {
+		mValues.put(GameStatesTable.getColumn(field), value);
+	}
+
+	public ContentValues getValues() {
+		return mValues;
+	}
+}
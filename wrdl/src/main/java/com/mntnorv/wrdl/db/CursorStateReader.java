@@ -0,0 +1,43 @@
+package com.mntnorv.wrdl.db;
+
+import android.database.Cursor;
+
+import com.mntnorv.wrdl.persist.StateField;
+import com.mntnorv.wrdl.persist.StateReader;
+
+/**
+ * Reads the fields of a saved game from the current row of a
+ * {@code states} table cursor.
+ */
+public class CursorStateReader implements StateReader {
+	private final Cursor mCursor;
+
+	public CursorStateReader(Cursor cursor) {
+		mCursor = cursor;
+	}
+
+	@Override
+	public boolean has(StateField field) {
+		int index = mCursor.getColumnIndex(GameStatesTable.getColumn(field));
+		return index != -1 && !mCursor.isNull(index);
+	}
+
+	@Override
+	public int getInt(StateField field) {
+		return mCursor.getInt(getIndex(field));
+	}
+
+	@Override
+	public String getString(StateField field) {
+		return mCursor.getString(getIndex(field));
+	}
+
+	@Override
+	public byte[] getBlob(StateField field) {
+		return mCursor.getBlob(getIndex(field));
+	}
+
+	private int getIndex(StateField field) {
+		return mCursor.getColumnIndexOrThrow(GameStatesTable.getColumn(field));
+	}
+}
@@ -31,12 +31,14 @@ public class GameStateSource extends AbstractDatabaseSource<GameState> {
 
 	@Override
 	protected ContentValues getContentValuesFromObject(GameState item) {
-		return item.toContentValues();
+		ContentValuesStateWriter writer = new ContentValuesStateWriter();
+		item.writeTo(writer);
+		return writer.getValues();
 	}
 
 	@Override
 	protected GameState createDataObjectFromCursor(Cursor cursor) {
-		return GameState.fromCursor(cursor);
+		return GameState.readFrom(new CursorStateReader(cursor));
 	}
 
 	@Override
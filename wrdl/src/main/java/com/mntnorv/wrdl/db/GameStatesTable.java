@@ -3,6 +3,8 @@ package com.mntnorv.wrdl.db;
 import android.database.sqlite.SQLiteDatabase;
 import android.util.Log;
 
+import com.mntnorv.wrdl.persist.StateField;
+
 public class GameStatesTable {
 	// Database table
 	public static final String TABLE_STATES        = "states";
@@ -14,10 +16,11 @@ public class GameStatesTable {
 	public static final String COLUMN_WORDS        = "words";
 	public static final String COLUMN_GUESSED_DATA = "guessed_data";
 	public static final String COLUMN_POINTS       = "points";
+	public static final String COLUMN_WORDS_DATA   = "words_data";
 
 	public static final String[] ALL_COLUMNS = new String[]{
 			COLUMN_ID, COLUMN_LETTERS, COLUMN_SIZE, COLUMN_GAME_MODE, COLUMN_GUESSED, COLUMN_WORDS,
-			COLUMN_GUESSED_DATA,COLUMN_POINTS
+			COLUMN_GUESSED_DATA,COLUMN_POINTS, COLUMN_WORDS_DATA
 	};
 
 	// Database creation SQL statement
@@ -31,15 +34,55 @@ public class GameStatesTable {
 			+ COLUMN_GUESSED      + " integer not null, "
 			+ COLUMN_WORDS        + " integer not null, "
 			+ COLUMN_GUESSED_DATA + " blob not null, "
-			+ COLUMN_POINTS       + " integer not null"
+			+ COLUMN_POINTS       + " integer not null, "
+			+ COLUMN_WORDS_DATA   + " blob"
 			+ ");";
 
+	// Upgrade from version 3, which had no stored word lists
+	private static final String DATABASE_ADD_WORDS_DATA = "alter table "
+			+ TABLE_STATES
+			+ " add column "
+			+ COLUMN_WORDS_DATA + " blob;";
+
+	/**
+	 * Gets the column holding a saved game field.
+	 *
+	 * @param field - saved game field
+	 * @return column name
+	 */
+	public static String getColumn(StateField field) {
+		switch (field) {
+			case ID:           return COLUMN_ID;
+			case LETTERS:      return COLUMN_LETTERS;
+			case SIZE:         return COLUMN_SIZE;
+			case GAME_MODE:    return COLUMN_GAME_MODE;
+			case GUESSED:      return COLUMN_GUESSED;
+			case WORDS:        return COLUMN_WORDS;
+			case GUESSED_DATA: return COLUMN_GUESSED_DATA;
+			case POINTS:       return COLUMN_POINTS;
+			case WORDS_DATA:   return COLUMN_WORDS_DATA;
+			default:
+				throw new IllegalArgumentException("Unknown field: " + field);
+		}
+	}
+
 	public static void onCreate(SQLiteDatabase database) {
 		database.execSQL(DATABASE_CREATE);
 	}
 
 	public static void onUpgrade(SQLiteDatabase database, int oldVersion,
 								 int newVersion) {
+		if (oldVersion >= 3) {
+			Log.i(GameStatesTable.class.getName(), "Upgrading database from version "
+					+ oldVersion + " to " + newVersion);
+
+			if (oldVersion < 4) {
+				database.execSQL(DATABASE_ADD_WORDS_DATA);
+			}
+
+			return;
+		}
+
 		Log.w(GameStatesTable.class.getName(), "Upgrading database from version "
 				+ oldVersion + " to " + newVersion
 				+ ", which will destroy all old data");
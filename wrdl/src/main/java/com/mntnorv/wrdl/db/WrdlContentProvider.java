@@ -17,6 +17,8 @@ public class WrdlContentProvider extends ContentProvider {
 	// Used for the UriMatcher
 	private static final int GAME_STATES = 10;
 	private static final int GAME_STATE_ID = 20;
+	private static final int BOARDS = 30;
+	private static final int BOARD_ID = 40;
 
 	private static final String AUTHORITY = "com.mntnorv.wrdl.db.WrdlContentProvider";
 
@@ -24,17 +26,29 @@ public class WrdlContentProvider extends ContentProvider {
 	private static final String GAME_STATES_BASE_PATH = "gamestates";
 	public static final Uri GAME_STATES_URI = Uri.parse("content://" + AUTHORITY
 			+ "/" + GAME_STATES_BASE_PATH);
+	private static final String BOARDS_BASE_PATH = "boards";
+	public static final Uri BOARDS_URI = Uri.parse("content://" + AUTHORITY
+			+ "/" + BOARDS_BASE_PATH);
 
 	// MIME types
 	public static final String STATES_DIR_TYPE = ContentResolver.CURSOR_DIR_BASE_TYPE
 			+ "/vnd.mntnorv.wrdl.gamestate";
 	public static final String STATES_ITEM_TYPE = ContentResolver.CURSOR_ITEM_BASE_TYPE
 			+ "/vnd.mntnorv.wrdl.gamestate";
+	public static final String BOARDS_DIR_TYPE = ContentResolver.CURSOR_DIR_BASE_TYPE
+			+ "/vnd.mntnorv.wrdl.board";
+	public static final String BOARDS_ITEM_TYPE = ContentResolver.CURSOR_ITEM_BASE_TYPE
+			+ "/vnd.mntnorv.wrdl.board";
+
+	// Optional query parameter limiting the number of rows returned
+	public static final String QUERY_PARAMETER_LIMIT = "limit";
 
 	private static final UriMatcher sURIMatcher = new UriMatcher(UriMatcher.NO_MATCH);
 	static {
 		sURIMatcher.addURI(AUTHORITY, GAME_STATES_BASE_PATH, GAME_STATES);
 		sURIMatcher.addURI(AUTHORITY, GAME_STATES_BASE_PATH + "/#", GAME_STATE_ID);
+		sURIMatcher.addURI(AUTHORITY, BOARDS_BASE_PATH, BOARDS);
+		sURIMatcher.addURI(AUTHORITY, BOARDS_BASE_PATH + "/#", BOARD_ID);
 	}
 
 	@Override
@@ -56,6 +70,14 @@ public class WrdlContentProvider extends ContentProvider {
 				queryBuilder.appendWhere(GameStatesTable.COLUMN_ID + "="
 						+ uri.getLastPathSegment());
 				break;
+			case BOARDS:
+				queryBuilder.setTables(BoardsTable.TABLE_BOARDS);
+				break;
+			case BOARD_ID:
+				queryBuilder.setTables(BoardsTable.TABLE_BOARDS);
+				queryBuilder.appendWhere(BoardsTable.COLUMN_ID + "="
+						+ uri.getLastPathSegment());
+				break;
 			default:
 				throw new IllegalArgumentException("Unknown URI: " + uri);
 		}
@@ -67,7 +89,7 @@ public class WrdlContentProvider extends ContentProvider {
 		}
 
 		Cursor cursor = queryBuilder.query(db, projection, selection,
-				selectionArgs, null, null, sortOrder);
+				selectionArgs, null, null, sortOrder, uri.getQueryParameter(QUERY_PARAMETER_LIMIT));
 
 		// Make sure that potential listeners are getting notified
 		cursor.setNotificationUri(getContext().getContentResolver(), uri);
@@ -82,6 +104,10 @@ public class WrdlContentProvider extends ContentProvider {
 				return STATES_DIR_TYPE;
 			case GAME_STATE_ID:
 				return STATES_ITEM_TYPE;
+			case BOARDS:
+				return BOARDS_DIR_TYPE;
+			case BOARD_ID:
+				return BOARDS_ITEM_TYPE;
 			default:
 				throw new IllegalArgumentException("Unknown URI: " + uri);
 		}
@@ -98,6 +124,10 @@ public class WrdlContentProvider extends ContentProvider {
 				insertId = db.insert(GameStatesTable.TABLE_STATES, null, values);
 				basePath = GAME_STATES_BASE_PATH;
 				break;
+			case BOARDS:
+				insertId = db.insert(BoardsTable.TABLE_BOARDS, null, values);
+				basePath = BOARDS_BASE_PATH;
+				break;
 			default:
 				throw new IllegalArgumentException("Unknown URI: " + uri);
 		}
@@ -107,6 +137,45 @@ public class WrdlContentProvider extends ContentProvider {
 		return Uri.parse(basePath + "/" + insertId);
 	}
 
+	/**
+	 * Inserts all rows in one transaction and notifies observers once.
+	 */
+	@Override
+	public int bulkInsert(Uri uri, ContentValues[] values) {
+		SQLiteDatabase db = database.getWritableDatabase();
+		String table;
+
+		switch (sURIMatcher.match(uri)) {
+			case GAME_STATES:
+				table = GameStatesTable.TABLE_STATES;
+				break;
+			case BOARDS:
+				table = BoardsTable.TABLE_BOARDS;
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown URI: " + uri);
+		}
+
+		int rowsInserted = 0;
+
+		db.beginTransaction();
+		try {
+			for (ContentValues rowValues : values) {
+				if (db.insert(table, null, rowValues) != -1) {
+					rowsInserted++;
+				}
+			}
+
+			db.setTransactionSuccessful();
+		} finally {
+			db.endTransaction();
+		}
+
+		getContext().getContentResolver().notifyChange(uri, null);
+
+		return rowsInserted;
+	}
+
 	@Override
 	public int delete(Uri uri, String selection, String[] selectionArgs) {
 		SQLiteDatabase db = database.getWritableDatabase();
@@ -128,6 +197,21 @@ public class WrdlContentProvider extends ContentProvider {
 				rowsDeleted = db.delete(GameStatesTable.TABLE_STATES,
 						selection, selectionArgs);
 				break;
+			case BOARDS:
+				rowsDeleted = db.delete(BoardsTable.TABLE_BOARDS,
+						selection, selectionArgs);
+				break;
+			case BOARD_ID:
+				String boardId = uri.getLastPathSegment();
+				if (!TextUtils.isEmpty(selection)) {
+					selection = BoardsTable.COLUMN_ID + "=" + boardId
+							+ " and " + selection;
+				} else {
+					selection = BoardsTable.COLUMN_ID + "=" + boardId;
+				}
+				rowsDeleted = db.delete(BoardsTable.TABLE_BOARDS,
+						selection, selectionArgs);
+				break;
 			default:
 				throw new IllegalArgumentException("Unknown URI: " + uri);
 		}
@@ -6,7 +6,7 @@ import android.database.sqlite.SQLiteOpenHelper;
 
 public class WrdlDatabaseHelper extends SQLiteOpenHelper {
 	private static final String DATABASE_NAME = "gamestates.db";
-	private static final int DATABASE_VERSION = 3;
+	private static final int DATABASE_VERSION = 5;
 
 	public WrdlDatabaseHelper(Context context) {
 		super(context, DATABASE_NAME, null, DATABASE_VERSION);
@@ -15,10 +15,12 @@ public class WrdlDatabaseHelper extends SQLiteOpenHelper {
 	@Override
 	public void onCreate(SQLiteDatabase db) {
 		GameStatesTable.onCreate(db);
+		BoardsTable.onCreate(db);
 	}
 
 	@Override
 	public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
 		GameStatesTable.onUpgrade(db, oldVersion, newVersion);
+		BoardsTable.onUpgrade(db, oldVersion, newVersion);
 	}
 }
@@ -1,27 +1,68 @@
 package com.mntnorv.wrdl.dict;
 
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.Resources;
+import android.util.Log;
 
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import rx.Observable;
 import rx.Observer;
 import rx.Subscription;
 import rx.subscriptions.Subscriptions;
 
+/**
+ * Loads dictionary resources and caches them by resource id.
+ *
+ * <p>The cache keeps up to {@link #setMaxCachedDictionaries} dictionaries,
+ * evicting the least recently used one. Entries can be held through soft
+ * references instead, so the VM may drop them under memory pressure.
+ * Concurrent requests for a resource that is still loading wait for that
+ * load instead of starting their own.</p>
+ */
 public class DictionaryProvider {
-	private static Dictionary dict;
-	private static int mOpenedDict = 0;
+	private static final String TAG = "DictionaryProvider";
+	private static final int DEFAULT_MAX_CACHED_DICTIONARIES = 2;
+
+	private static final Object sLock = new Object();
+	private static final Map<Integer, FutureTask<Dictionary>> sLoading =
+			new HashMap<Integer, FutureTask<Dictionary>>();
+
+	private static int sMaxCachedDictionaries = DEFAULT_MAX_CACHED_DICTIONARIES;
+	private static boolean sSoftReferences = false;
+
+	private static final LinkedHashMap<Integer, CacheEntry> sCache =
+			new LinkedHashMap<Integer, CacheEntry>(4, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Integer, CacheEntry> eldest) {
+					return size() > sMaxCachedDictionaries;
+				}
+			};
+
+	// Statistics, guarded by sLock
+	private static int sHits = 0;
+	private static int sMisses = 0;
+	private static int sCoalesced = 0;
+	private static int sLoads = 0;
+	private static long sLoadTimeNanos = 0;
 
 	public static Observable<Dictionary> getDictionary(final Context context, final int resourceId) {
 		return Observable.create(new Observable.OnSubscribeFunc<Dictionary>() {
 			@Override
 			public Subscription onSubscribe(Observer<? super Dictionary> observer) {
 				try {
-					if (mOpenedDict != resourceId) {
-						dict = openDictionary(context, resourceId);
-					}
+					Dictionary dict = obtainDictionary(context.getApplicationContext(), resourceId);
 
 					observer.onNext(dict);
 					observer.onCompleted();
@@ -34,11 +75,235 @@ public class DictionaryProvider {
 		});
 	}
 
+	//================================================================================
+	// Cache configuration
+	//================================================================================
+
+	/**
+	 * Sets the maximum number of dictionaries kept in the cache. Least
+	 * recently used dictionaries are evicted first.
+	 *
+	 * @param maxCachedDictionaries - cache size, at least {@code 1}
+	 */
+	public static void setMaxCachedDictionaries(int maxCachedDictionaries) {
+		if (maxCachedDictionaries < 1) {
+			throw new IllegalArgumentException("Cache size must be at least 1");
+		}
+
+		synchronized (sLock) {
+			sMaxCachedDictionaries = maxCachedDictionaries;
+
+			while (sCache.size() > sMaxCachedDictionaries) {
+				sCache.remove(sCache.keySet().iterator().next());
+			}
+		}
+	}
+
+	/**
+	 * Sets whether dictionaries loaded from now on are cached through soft
+	 * references, which the VM clears when it runs low on memory.
+	 *
+	 * @param softReferences - {@code true} to use soft references
+	 */
+	public static void setUseSoftReferences(boolean softReferences) {
+		synchronized (sLock) {
+			sSoftReferences = softReferences;
+		}
+	}
+
+	/**
+	 * Removes all cached dictionaries. Loads in progress are not affected.
+	 */
+	public static void clearCache() {
+		synchronized (sLock) {
+			sCache.clear();
+		}
+	}
+
+	//================================================================================
+	// Statistics
+	//================================================================================
+
+	/**
+	 * @return number of requests answered from the cache
+	 */
+	public static int getCacheHits() {
+		synchronized (sLock) {
+			return sHits;
+		}
+	}
+
+	/**
+	 * @return number of requests that started a load
+	 */
+	public static int getCacheMisses() {
+		synchronized (sLock) {
+			return sMisses;
+		}
+	}
+
+	/**
+	 * @return number of requests that waited for a load started by another
+	 * request
+	 */
+	public static int getCoalescedRequests() {
+		synchronized (sLock) {
+			return sCoalesced;
+		}
+	}
+
+	/**
+	 * @return number of completed loads
+	 */
+	public static int getLoadCount() {
+		synchronized (sLock) {
+			return sLoads;
+		}
+	}
+
+	/**
+	 * @return total time spent in completed loads, in milliseconds
+	 */
+	public static long getTotalLoadTimeMillis() {
+		synchronized (sLock) {
+			return sLoadTimeNanos / 1000000;
+		}
+	}
+
+	//================================================================================
+	// Loading
+	//================================================================================
+
+	/**
+	 * Gets a dictionary from the cache, waits for a load of it already in
+	 * progress or loads it on the calling thread.
+	 */
+	private static Dictionary obtainDictionary(Context context, int resourceId) throws IOException {
+		FutureTask<Dictionary> task;
+		boolean ownsTask = false;
+
+		synchronized (sLock) {
+			CacheEntry entry = sCache.get(resourceId);
+			Dictionary cached = entry != null ? entry.get() : null;
+
+			if (cached != null) {
+				sHits++;
+				return cached;
+			}
+
+			task = sLoading.get(resourceId);
+
+			if (task == null) {
+				task = new FutureTask<Dictionary>(new DictionaryLoader(context, resourceId));
+				sLoading.put(resourceId, task);
+				sMisses++;
+				ownsTask = true;
+			} else {
+				sCoalesced++;
+			}
+		}
+
+		if (ownsTask) {
+			task.run();
+		}
+
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for dictionary");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			} else {
+				throw new IOException("Failed to load dictionary: " + cause);
+			}
+		}
+	}
+
+	/**
+	 * Opens a dictionary image resource compiled by the
+	 * {@code compileDictionary} build task. The image is memory-mapped if it
+	 * is stored uncompressed in the APK and read into memory otherwise.
+	 */
 	private static Dictionary openDictionary(Context context, int resourceId) throws IOException {
-		InputStream stream = context.getResources().openRawResource(resourceId);
-		Dictionary dict = new Dictionary(stream);
-		stream.close();
-		mOpenedDict = resourceId;
+		Dictionary dict;
+
+		try {
+			AssetFileDescriptor fd = context.getResources().openRawResourceFd(resourceId);
+			FileInputStream stream = fd.createInputStream();
+			dict = Dictionary.map(stream.getChannel(), fd.getStartOffset(), fd.getLength());
+			stream.close();
+		} catch (Resources.NotFoundException e) {
+			InputStream stream = context.getResources().openRawResource(resourceId);
+			dict = Dictionary.fromImage(stream);
+			stream.close();
+		}
+
 		return dict;
 	}
+
+	/**
+	 * Loads a dictionary and, once done, moves it from the in-flight map to
+	 * the cache in one step, so no request can miss both.
+	 */
+	private static class DictionaryLoader implements Callable<Dictionary> {
+		private final Context mContext;
+		private final int mResourceId;
+
+		public DictionaryLoader(Context context, int resourceId) {
+			mContext = context;
+			mResourceId = resourceId;
+		}
+
+		@Override
+		public Dictionary call() throws IOException {
+			Dictionary dict = null;
+			long start = System.nanoTime();
+
+			try {
+				dict = openDictionary(mContext, mResourceId);
+				return dict;
+			} finally {
+				long loadTime = System.nanoTime() - start;
+
+				synchronized (sLock) {
+					sLoading.remove(mResourceId);
+
+					if (dict != null) {
+						sCache.put(mResourceId, new CacheEntry(dict, sSoftReferences));
+						sLoads++;
+						sLoadTimeNanos += loadTime;
+					}
+				}
+
+				if (dict != null) {
+					Log.d(TAG, "Loaded dictionary " + mResourceId + " in " + loadTime / 1000000 + " ms");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Cached dictionary, held either strongly or through a soft reference.
+	 */
+	private static class CacheEntry {
+		private final Dictionary mStrong;
+		private final SoftReference<Dictionary> mSoft;
+
+		public CacheEntry(Dictionary dict, boolean soft) {
+			mStrong = soft ? null : dict;
+			mSoft = soft ? new SoftReference<Dictionary>(dict) : null;
+		}
+
+		public Dictionary get() {
+			return mSoft != null ? mSoft.get() : mStrong;
+		}
+	}
 }
@@ -129,6 +129,7 @@ public class TileGridView extends View {
 		mSizeInTiles = (int) Math.sqrt(mTileStrings.length);
 
 		updateDrawableProperties();
+		invalidate();
 	}
 
 	private GridSequenceTouchListener touchListener = new GridSequenceTouchListener() {